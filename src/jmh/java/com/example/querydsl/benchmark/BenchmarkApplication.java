@@ -0,0 +1,81 @@
+package com.example.querydsl.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.querydsl.QuerydslApplication;
+
+/*
+ * benchmark 용 application 기동 + in-memory h2 seed
+ * - local profile(InitMember) 대신 bench profile, sql 로그 off (extraArgs 로 덮어쓸 수 있음)
+ * - jpa 를 거치지 않고 jdbc batch insert 로 seed (member 는 TEAM_COUNT 개 team 에 round-robin, age 0~99)
+ */
+public final class BenchmarkApplication {
+
+	public static final int TEAM_COUNT = 10;
+	private static final int BATCH_SIZE = 1000;
+
+	private BenchmarkApplication() {
+	}
+
+	public static ConfigurableApplicationContext start(int members, String... extraArgs) {
+		return start(members, WebApplicationType.NONE, extraArgs);
+	}
+
+	/* SERVLET 이면 임의 port 로 tomcat 기동 (local.server.port) */
+	public static ConfigurableApplicationContext start(int members, WebApplicationType webApplicationType,
+			String... extraArgs) {
+		List<String> args = new ArrayList<>(Arrays.asList(
+				"--spring.profiles.active=bench",
+				"--spring.datasource.url=jdbc:h2:mem:bench" + members + ";DB_CLOSE_DELAY=-1",
+				"--spring.jpa.hibernate.ddl-auto=create",
+				"--logging.level.org.hibernate.SQL=warn",
+				"--decorator.datasource.p6spy.enable-logging=false",
+				"--monitoring.sql-log.mode=off",
+				"--server.port=0"));
+		/* 같은 key 가 두 번 오면 값이 합쳐지므로 extraArgs 와 겹치는 기본값은 제거 */
+		for (String extraArg : extraArgs) {
+			String key = extraArg.substring(0, extraArg.indexOf('=') + 1);
+			args.removeIf(arg -> arg.startsWith(key));
+		}
+		args.addAll(Arrays.asList(extraArgs));
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(QuerydslApplication.class)
+				.web(webApplicationType)
+				.run(args.toArray(new String[0]));
+		seed(context.getBean(JdbcTemplate.class), members);
+		return context;
+	}
+
+	public static String teamName(int index) {
+		return "team" + index;
+	}
+
+	private static void seed(JdbcTemplate jdbcTemplate, int members) {
+		List<Object[]> teams = new ArrayList<>();
+		for (int i = 0; i < TEAM_COUNT; i++) {
+			teams.add(new Object[] { (long) i + 1, teamName(i) });
+		}
+		jdbcTemplate.batchUpdate("insert into team (team_id, name) values (?, ?)", teams);
+
+		List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+		for (int i = 0; i < members; i++) {
+			long id = TEAM_COUNT + i + 1L;
+			batch.add(new Object[] { id, "member" + i, i % 100, (long) (i % TEAM_COUNT) + 1 });
+			if (batch.size() == BATCH_SIZE) {
+				jdbcTemplate.batchUpdate("insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)", batch);
+				batch.clear();
+			}
+		}
+		if (!batch.isEmpty()) {
+			jdbcTemplate.batchUpdate("insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)", batch);
+		}
+		// 이후 jpa 로 저장되는 entity 와 id 가 겹치지 않도록
+		jdbcTemplate.execute("alter sequence hibernate_sequence restart with " + (TEAM_COUNT + members + 1L));
+	}
+}
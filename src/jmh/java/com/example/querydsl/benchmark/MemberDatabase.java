@@ -0,0 +1,36 @@
+package com.example.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/*
+ * benchmark 공용 state : member 수별로 application 기동 + seed (trial 당 1회)
+ * benchmark method parameter 로 받아서 사용
+ */
+@State(Scope.Benchmark)
+public class MemberDatabase {
+
+	@Param({ "10000", "100000", "1000000" })
+	int members;
+
+	ConfigurableApplicationContext context;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start(members);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	public <T> T getBean(Class<T> type) {
+		return context.getBean(type);
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.querydsl.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.repository.CountMode;
+import com.example.querydsl.repository.MemberRepository;
+import com.example.querydsl.repository.PagingStrategy;
+
+/*
+ * searchPageComplex content 조회 : single query vs deferred join vs window count
+ * page 가 깊어질수록(offset 증가) deferred join 이 유리해지는 지점을 확인
+ * count 는 MemberCountCache 에 걸리므로 SINGLE_QUERY / DEFERRED_JOIN 측정값은 대부분 content query
+ * (WINDOW_COUNT 는 매번 total 까지 계산하므로 in-memory h2 에서는 round trip 절감 효과가 드러나지 않음)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PagingStrategyBenchmark {
+
+	@Param({ "100000" })
+	int members;
+
+	@Param({ "0", "100", "1000", "4000" })
+	int page;
+
+	@Param({ "false", "true" })
+	boolean teamFilter;
+
+	@Param({ "SINGLE_QUERY", "DEFERRED_JOIN", "WINDOW_COUNT" })
+	PagingStrategy strategy;
+
+	ConfigurableApplicationContext context;
+	MemberRepository memberRepository;
+	MemberSearchCondition condition;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start(members);
+		memberRepository = context.getBean(MemberRepository.class);
+		condition = new MemberSearchCondition();
+		if (teamFilter) {
+			condition.setTeamName(BenchmarkApplication.teamName(0));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Page<MemberTeamDto> searchPageComplex() {
+		return memberRepository.searchPageComplex(condition, PageRequest.of(page, 20), CountMode.EXACT, strategy);
+	}
+}
@@ -0,0 +1,102 @@
+package com.example.querydsl.benchmark;
+
+import static com.example.querydsl.entity.QMember.member;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.querydsl.dto.MemberDto;
+import com.example.querydsl.dto.QMemberDto;
+import com.example.querydsl.dto.UserDto;
+import com.example.querydsl.projection.FastProjections;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+/*
+ * QuerydslBasicTest4 의 dto projection 방식별 비용
+ * 같은 1000 row 를 각 방식으로 mapping => 차이는 row 당 dto 생성 방식(reflection setter / field / constructor / QueryProjection)
+ * fast* : FastProjections(MethodHandle cache) 로 같은 projection
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionBenchmark {
+
+	static final int ROWS = 1000;
+
+	JPAQueryFactory queryFactory;
+
+	@Setup(Level.Trial)
+	public void setUp(MemberDatabase database) {
+		queryFactory = database.getBean(JPAQueryFactory.class);
+	}
+
+	@Benchmark
+	public List<MemberDto> bean() {
+		return queryFactory.select(Projections.bean(MemberDto.class, member.username, member.age))
+				.from(member).orderBy(member.id.asc()).limit(ROWS).fetch();
+	}
+
+	@Benchmark
+	public List<MemberDto> fields() {
+		return queryFactory.select(Projections.fields(MemberDto.class, member.username, member.age))
+				.from(member).orderBy(member.id.asc()).limit(ROWS).fetch();
+	}
+
+	@Benchmark
+	public List<UserDto> fieldsWithAlias() {
+		return queryFactory.select(Projections.fields(UserDto.class, member.username.as("name"), member.age))
+				.from(member).orderBy(member.id.asc()).limit(ROWS).fetch();
+	}
+
+	@Benchmark
+	public List<MemberDto> constructor() {
+		return queryFactory.select(Projections.constructor(MemberDto.class, member.username, member.age))
+				.from(member).orderBy(member.id.asc()).limit(ROWS).fetch();
+	}
+
+	@Benchmark
+	public List<MemberDto> queryProjection() {
+		return queryFactory.select(new QMemberDto(member.username, member.age))
+				.from(member).orderBy(member.id.asc()).limit(ROWS).fetch();
+	}
+
+	@Benchmark
+	public List<MemberDto> fastBean() {
+		return queryFactory.select(FastProjections.bean(MemberDto.class, member.username, member.age))
+				.from(member).orderBy(member.id.asc()).limit(ROWS).fetch();
+	}
+
+	@Benchmark
+	public List<MemberDto> fastFields() {
+		return queryFactory.select(FastProjections.fields(MemberDto.class, member.username, member.age))
+				.from(member).orderBy(member.id.asc()).limit(ROWS).fetch();
+	}
+
+	@Benchmark
+	public List<UserDto> fastFieldsWithAlias() {
+		return queryFactory.select(FastProjections.fields(UserDto.class, member.username.as("name"), member.age))
+				.from(member).orderBy(member.id.asc()).limit(ROWS).fetch();
+	}
+
+	@Benchmark
+	public List<MemberDto> fastConstructor() {
+		return queryFactory.select(FastProjections.constructor(MemberDto.class, member.username, member.age))
+				.from(member).orderBy(member.id.asc()).limit(ROWS).fetch();
+	}
+}
@@ -0,0 +1,124 @@
+package com.example.querydsl.benchmark;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.StringUtils;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.dto.QMemberTeamDto;
+import com.example.querydsl.repository.MemberSearchTemplates;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+/*
+ * 호출마다 querydsl query 를 만들고 jpql 로 serialize 하는 방식 vs 조합별로 기동 시 serialize 해 둔 jpql (MemberSearchTemplates)
+ * 결과가 1 건인 username 조건을 포함해서 query 실행보다 query 생성 비용이 드러나도록 함
+ * allocation 은 -prof gc 로 확인
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryTemplateBenchmark {
+
+	@Param({ "10000" })
+	int members;
+
+	@Param({ "userName", "userName+teamName+age" })
+	String shape;
+
+	ConfigurableApplicationContext context;
+	JPAQueryFactory queryFactory;
+	MemberSearchTemplates searchTemplates;
+	MemberSearchCondition condition;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start(members);
+		queryFactory = context.getBean(JPAQueryFactory.class);
+		searchTemplates = context.getBean(MemberSearchTemplates.class);
+		condition = new MemberSearchCondition();
+		condition.setUserName("member7");
+		if (shape.contains("teamName")) {
+			condition.setTeamName(BenchmarkApplication.teamName(7));
+			condition.setAgeGoe(0);
+			condition.setAgeLoe(50);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	/* 호출마다 query 생성 + serialize */
+	@Benchmark
+	public List<MemberTeamDto> querydslPerRequest() {
+		return queryFactory
+				.select(new QMemberTeamDto(member.id.as("memberId"), member.username, member.age,
+						team.id.as("teamId"), team.name.as("teamName")))
+				.from(member).leftJoin(member.team, team)
+				.where(usernameEq(condition.getUserName()), teamNameEq(condition.getTeamName()),
+						ageGoe(condition.getAgeGoe()), ageLoe(condition.getAgeLoe()))
+				.fetch();
+	}
+
+	@Benchmark
+	public List<MemberTeamDto> template() {
+		return searchTemplates.search(condition);
+	}
+
+	@Benchmark
+	public long querydslCountPerRequest() {
+		JPAQuery<Long> query = queryFactory.select(member.id.count()).from(member);
+		if (StringUtils.hasText(condition.getTeamName())) {
+			query.join(member.team, team);
+		}
+		return query.where(usernameEq(condition.getUserName()), teamNameEq(condition.getTeamName()),
+						ageGoe(condition.getAgeGoe()), ageLoe(condition.getAgeLoe()))
+				.fetchOne();
+	}
+
+	@Benchmark
+	public long templateCount() {
+		return searchTemplates.count(condition);
+	}
+
+	private static BooleanExpression usernameEq(String username) {
+		return StringUtils.hasText(username) ? member.username.eq(username) : null;
+	}
+
+	private static BooleanExpression teamNameEq(String teamName) {
+		return StringUtils.hasText(teamName) ? team.name.eq(teamName) : null;
+	}
+
+	private static BooleanExpression ageGoe(Integer ageGoe) {
+		return ageGoe == null ? null : member.age.goe(ageGoe);
+	}
+
+	private static BooleanExpression ageLoe(Integer ageLoe) {
+		return ageLoe == null ? null : member.age.loe(ageLoe);
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.querydsl.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.repository.MemberCountCache;
+import com.example.querydsl.repository.MemberJpaRepository;
+import com.example.querydsl.repository.MemberRepository;
+
+/*
+ * repository hot path
+ * 조건 : team 1 개 + 나이 10 살 구간 => 전체의 1%
+ * paging : member 수마다 결과 안쪽의 가운데 page (첫/마지막 page 가 아니므로 count query 도 실행됨)
+ *   count cache 에 걸리면 두 번째 호출부터 count 가 빠지므로 호출마다 비움
+ * throughput / latency 분포(sample) 모두 측정, 할당량은 gc profiler(build.gradle jmh.profilers)
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+	static final int PAGE_SIZE = 20;
+
+	MemberJpaRepository memberJpaRepository;
+	MemberRepository memberRepository;
+	MemberCountCache countCache;
+	MemberSearchCondition condition;
+	Pageable pageable;
+
+	@Setup(Level.Trial)
+	public void setUp(MemberDatabase database) {
+		memberJpaRepository = database.getBean(MemberJpaRepository.class);
+		memberRepository = database.getBean(MemberRepository.class);
+		countCache = database.getBean(MemberCountCache.class);
+		condition = new MemberSearchCondition();
+		condition.setTeamName(BenchmarkApplication.teamName(3));
+		condition.setAgeGoe(20);
+		condition.setAgeLoe(29);
+		/* team3 (i % 10 == 3) 이면서 20~29 살 => age 23 (i % 100 == 23) 인 member, 전체의 1% */
+		int matching = database.members / 100;
+		pageable = PageRequest.of(matching / PAGE_SIZE / 2, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public List<MemberTeamDto> jpaRepositorySearch() {
+		return memberJpaRepository.search(condition);
+	}
+
+	@Benchmark
+	public List<MemberTeamDto> jpaRepositorySearchByBuilder() {
+		return memberJpaRepository.searchByBuilder(condition);
+	}
+
+	@Benchmark
+	public Page<MemberTeamDto> searchPageSimple() {
+		countCache.invalidateAll();
+		return memberRepository.searchPageSimple(condition, pageable);
+	}
+
+	@Benchmark
+	public Page<MemberTeamDto> searchPageComplex() {
+		countCache.invalidateAll();
+		return memberRepository.searchPageComplex(condition, pageable);
+	}
+}
@@ -0,0 +1,80 @@
+package com.example.querydsl.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.repository.MemberRepository;
+
+/*
+ * sql 로그 설정별 부하 비교 (searchPageComplex : content + count 2 개 sql)
+ * - legacy : 기존 설정 (p6spy 로그 + org.hibernate.SQL debug + format_sql, 요청 thread 에서 모두 기록)
+ * - sampled / slow : SqlLogListener (monitoring.sql-log.mode)
+ * - off : 로그 없음 (기준선)
+ * 로그는 console 대신 build/jmh-sql.log 로 (터미널 출력 비용 제외)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class SqlLogBenchmark {
+
+	private static final int MEMBERS = 100_000;
+	private static final String LOG_FILE = "--logging.file.name=build/jmh-sql.log";
+	private static final String NO_CONSOLE = "--logging.pattern.console=";
+
+	@Param({ "legacy", "sampled", "slow", "off" })
+	String mode;
+
+	ConfigurableApplicationContext context;
+	MemberRepository memberRepository;
+	MemberSearchCondition condition;
+	Pageable pageable = PageRequest.of(10, 20);
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = "legacy".equals(mode)
+				? BenchmarkApplication.start(MEMBERS, LOG_FILE, NO_CONSOLE,
+						"--logging.level.org.hibernate.SQL=debug",
+						"--decorator.datasource.p6spy.enable-logging=true",
+						"--spring.jpa.properties.hibernate.format_sql=true")
+				: BenchmarkApplication.start(MEMBERS, LOG_FILE, NO_CONSOLE, "--monitoring.sql-log.mode=" + mode);
+		memberRepository = context.getBean(MemberRepository.class);
+		condition = new MemberSearchCondition();
+		condition.setTeamName(BenchmarkApplication.teamName(3));
+		condition.setAgeGoe(20);
+		condition.setAgeLoe(29);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Page<MemberTeamDto> searchPageComplex() {
+		return memberRepository.searchPageComplex(condition, pageable);
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.querydsl.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.querydsl.config.VirtualThreads;
+
+/*
+ * platform thread(tomcat 기본 200) vs virtual-threads profile 부하 비교
+ * 256 개 client thread 가 /v3/members 를 동시에 호출 => throughput / latency 분포 비교
+ * 같은 connection pool(hikari 기본 10) 이므로 차이는 대기 방식(thread pool queue vs permit semaphore)에서 나옴
+ * virtual-threads 는 JDK 21+ 에서만 실행 : ./gradlew jmh -PjmhIncludes=ThreadModeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(256)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+	private static final int MEMBERS = 100_000;
+
+	@Param({ "platform", "virtual-threads" })
+	String mode;
+
+	ConfigurableApplicationContext context;
+	URL searchUrl;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		boolean virtual = "virtual-threads".equals(mode);
+		if (virtual && !VirtualThreads.isSupported()) {
+			throw new IllegalStateException("virtual-threads mode requires JDK 21+");
+		}
+		context = virtual
+				? BenchmarkApplication.start(MEMBERS, WebApplicationType.SERVLET, "--spring.profiles.active=bench,virtual-threads")
+				: BenchmarkApplication.start(MEMBERS, WebApplicationType.SERVLET);
+		String port = context.getEnvironment().getProperty("local.server.port");
+		searchUrl = new URL("http://localhost:" + port + "/v3/members?teamName=" + BenchmarkApplication.teamName(3)
+				+ "&ageGoe=20&ageLoe=29&page=10&size=20");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	/* 응답 body 를 끝까지 읽어야 keep-alive connection 이 재사용됨 */
+	@Benchmark
+	public int searchMemberV3() throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) searchUrl.openConnection();
+		int status = connection.getResponseCode();
+		InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+		byte[] buffer = new byte[8192];
+		int total = 0;
+		if (body != null) {
+			try (InputStream in = body) {
+				for (int read; (read = in.read(buffer)) != -1;) {
+					total += read;
+				}
+			}
+		}
+		if (status != 200) {
+			throw new IllegalStateException("status " + status);
+		}
+		return total;
+	}
+}
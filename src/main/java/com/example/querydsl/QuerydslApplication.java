@@ -1,21 +1,29 @@
 package com.example.querydsl;
 
+import java.util.stream.Collectors;
+
 import javax.persistence.EntityManager;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import com.example.querydsl.monitoring.InstrumentedJPAQueryFactory;
+import com.example.querydsl.monitoring.QueryExecutionListener;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 
 @SpringBootApplication
+@EnableScheduling
 public class QuerydslApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(QuerydslApplication.class, args);
 	}
+	/* 실행되는 query 를 QueryExecutionListener 로 관찰할 수 있도록 계측용 factory 등록 */
 	@Bean
-	JPAQueryFactory jpaQueryFactory(EntityManager em) {
-		return new JPAQueryFactory(em);
+	JPAQueryFactory jpaQueryFactory(EntityManager em, ObjectProvider<QueryExecutionListener> listeners) {
+		return new InstrumentedJPAQueryFactory(em, listeners.orderedStream().collect(Collectors.toList()));
 	}
 }
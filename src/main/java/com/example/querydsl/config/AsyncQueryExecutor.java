@@ -0,0 +1,42 @@
+package com.example.querydsl.config;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/*
+ * controller 의 조회를 http thread 밖에서 실행
+ * - 기본 : bounded thread pool (pool 크기 = connection pool 크기), queue 까지 가득 차면 submit 시점에 거절
+ * - virtual-threads profile : task 마다 virtual thread, 동시 실행 수는 ConnectionPermits 로 제한 (대기 초과 시 거절)
+ * 거절은 RejectedExecutionException => 503
+ */
+public class AsyncQueryExecutor {
+
+	private final Executor executor;
+	private final ConnectionPermits permits;
+	private final Runnable shutdown;
+
+	public AsyncQueryExecutor(ThreadPoolTaskExecutor executor) {
+		this(executor, null, executor::shutdown);
+	}
+
+	public AsyncQueryExecutor(Executor executor, ConnectionPermits permits, Runnable shutdown) {
+		this.executor = executor;
+		this.permits = permits;
+		this.shutdown = shutdown;
+	}
+
+	public <T> CompletableFuture<T> supply(Supplier<T> query) throws RejectedExecutionException {
+		if (permits == null) {
+			return CompletableFuture.supplyAsync(query, executor);
+		}
+		return CompletableFuture.supplyAsync(() -> permits.call(query), executor);
+	}
+
+	public void shutdown() {
+		shutdown.run();
+	}
+}
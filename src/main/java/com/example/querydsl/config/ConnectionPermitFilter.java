@@ -0,0 +1,40 @@
+package com.example.querydsl.config;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/* 조회 endpoint 요청 하나당 ConnectionPermits 하나 (virtual-threads profile) */
+public class ConnectionPermitFilter extends OncePerRequestFilter {
+
+	private final ConnectionPermits permits;
+
+	public ConnectionPermitFilter(ConnectionPermits permits) {
+		this.permits = permits;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		boolean entered;
+		try {
+			entered = permits.enter();
+		} catch (RejectedExecutionException e) {
+			response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, e.getMessage());
+			return;
+		}
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			permits.exit(entered);
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.querydsl.config;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * virtual thread 는 개수 제한이 없으므로 thread pool 크기 대신 db 작업 동시 실행 수를 semaphore 로 제한
+ * permit 수 = connection pool 크기, acquire-timeout 안에 permit 을 못 얻으면 거절 (=> 503)
+ * 같은 thread 에서 중첩 호출 시 permit 을 다시 잡지 않음
+ */
+public class ConnectionPermits {
+
+	private static final ThreadLocal<Boolean> HOLDING = new ThreadLocal<>();
+
+	private final Semaphore semaphore;
+	private final int permits;
+	private final long timeoutNanos;
+	private final LongAdder rejected = new LongAdder();
+
+	public ConnectionPermits(int permits, Duration acquireTimeout) {
+		this.semaphore = new Semaphore(permits, true);
+		this.permits = permits;
+		this.timeoutNanos = acquireTimeout.toNanos();
+	}
+
+	public <T> T call(Supplier<T> work) {
+		boolean entered = enter();
+		try {
+			return work.get();
+		} finally {
+			exit(entered);
+		}
+	}
+
+	/* permit 획득 (이미 들고 있으면 false), 못 얻으면 RejectedExecutionException */
+	public boolean enter() {
+		if (HOLDING.get() != null) {
+			return false;
+		}
+		acquire();
+		HOLDING.set(Boolean.TRUE);
+		return true;
+	}
+
+	public void exit(boolean entered) {
+		if (entered) {
+			HOLDING.remove();
+			semaphore.release();
+		}
+	}
+
+	private void acquire() {
+		boolean acquired;
+		try {
+			acquired = semaphore.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException("interrupted while waiting for a connection permit", e);
+		}
+		if (!acquired) {
+			rejected.increment();
+			throw new RejectedExecutionException("no connection permit within " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms");
+		}
+	}
+
+	public Snapshot snapshot() {
+		return new Snapshot(permits, semaphore.availablePermits(), semaphore.getQueueLength(), rejected.sum());
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Snapshot {
+		private final int permits;
+		private final int available;
+		private final int waiting;
+		private final long rejected;
+	}
+}
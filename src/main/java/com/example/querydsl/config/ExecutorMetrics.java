@@ -0,0 +1,73 @@
+package com.example.querydsl.config;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * bounded executor 생성 + 포화도 지표
+ * queue 까지 가득 차서 거절된 task 는 rejectionHandler 에서 집계
+ * executor 자체는 bean 으로 노출하지 않음 (Executor bean 이 생기면 spring boot 기본 applicationTaskExecutor 가 빠짐)
+ */
+public class ExecutorMetrics {
+
+	private final String name;
+	private final LongAdder rejected = new LongAdder();
+	private ThreadPoolTaskExecutor executor;
+
+	public ExecutorMetrics(String name) {
+		this.name = name;
+	}
+
+	/* core = max = poolSize 인 고정 크기 pool + 고정 크기 queue */
+	public ThreadPoolTaskExecutor newExecutor(String threadNamePrefix, int poolSize, int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setThreadNamePrefix(threadNamePrefix);
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setRejectedExecutionHandler(rejectionHandler());
+		executor.initialize();
+		this.executor = executor;
+		return executor;
+	}
+
+	/* 거절 건수를 센 뒤 기본 정책(AbortPolicy)과 같이 예외 */
+	private RejectedExecutionHandler rejectionHandler() {
+		return (task, pool) -> {
+			rejected.increment();
+			throw new RejectedExecutionException(name + " executor saturated");
+		};
+	}
+
+	public Snapshot snapshot() {
+		ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+		int queued = pool.getQueue().size();
+		return new Snapshot(name, pool.getActiveCount(), pool.getPoolSize(), pool.getMaximumPoolSize(), queued,
+				queued + pool.getQueue().remainingCapacity(), pool.getCompletedTaskCount(), rejected.sum());
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Snapshot {
+		private final String name;
+		private final int active;
+		private final int poolSize;
+		private final int maxPoolSize;
+		private final int queued;
+		private final int queueCapacity;
+		private final long completed;
+		private final long rejected;
+
+		/* 1 이면 모든 thread 사용 중 */
+		public double getSaturation() {
+			return maxPoolSize == 0 ? 0 : (double) active / maxPoolSize;
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package com.example.querydsl.config;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * virtual thread pinning 진단
+ * JFR jdk.VirtualThreadPinned 이벤트(synchronized 안에서 blocking => carrier thread 고정)를 RecordingStream 으로 받아
+ * 발생 위치별로 집계, 처음 보는 위치는 warn 로그 (jdbc driver / hikari / hibernate 내부 synchronized 가 주 대상)
+ * jdk.jfr.consumer.RecordingStream(JDK 14+) 은 1.8 빌드에서 쓸 수 없으므로 reflection 으로 접근
+ */
+@Slf4j
+public class PinnedThreadMonitor implements AutoCloseable {
+
+	private static final String EVENT = "jdk.VirtualThreadPinned";
+	private static final String APPLICATION_PACKAGE = "com.example.querydsl.";
+
+	private final ConcurrentMap<String, Site> sites = new ConcurrentHashMap<>();
+	private AutoCloseable stream;
+
+	public PinnedThreadMonitor(Duration threshold) {
+		try {
+			Class<?> streamType = Class.forName("jdk.jfr.consumer.RecordingStream");
+			Object recordingStream = streamType.getConstructor().newInstance();
+			Object settings = streamType.getMethod("enable", String.class).invoke(recordingStream, EVENT);
+			Class<?> settingsType = Class.forName("jdk.jfr.EventSettings");
+			settingsType.getMethod("withStackTrace").invoke(settings);
+			settingsType.getMethod("withThreshold", Duration.class).invoke(settings, threshold);
+			Consumer<Object> handler = this::onEvent;
+			streamType.getMethod("onEvent", String.class, Consumer.class).invoke(recordingStream, EVENT, handler);
+			streamType.getMethod("startAsync").invoke(recordingStream);
+			this.stream = (AutoCloseable) recordingStream;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			log.warn("virtual thread pinning monitor unavailable: {}", e.toString());
+		}
+	}
+
+	private void onEvent(Object event) {
+		try {
+			Duration duration = (Duration) invoke(event, "getDuration");
+			String site = site(event);
+			Site existing = sites.get(site);
+			if (existing == null) {
+				Site created = new Site(site);
+				existing = sites.putIfAbsent(site, created);
+				if (existing == null) {
+					existing = created;
+					log.warn("virtual thread pinned for {}ms at {}", duration.toMillis(), site);
+				}
+			}
+			existing.count.increment();
+			existing.totalNanos.add(duration.toNanos());
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			log.debug("failed to read pinning event", e);
+		}
+	}
+
+	/* pin 이 걸린 최상단 frame + 그 호출 경로의 첫 application frame */
+	private static String site(Object event) throws ReflectiveOperationException {
+		Object stackTrace = invoke(event, "getStackTrace");
+		if (stackTrace == null) {
+			return "unknown";
+		}
+		List<?> frames = (List<?>) invoke(stackTrace, "getFrames");
+		String top = frames.isEmpty() ? "unknown" : frame(frames.get(0));
+		for (Object frame : frames) {
+			String text = frame(frame);
+			if (text.startsWith(APPLICATION_PACKAGE)) {
+				return top + " <- " + text;
+			}
+		}
+		return top;
+	}
+
+	private static String frame(Object frame) throws ReflectiveOperationException {
+		Object method = invoke(frame, "getMethod");
+		Object type = invoke(method, "getType");
+		return invoke(type, "getName") + "." + invoke(method, "getName") + ":" + invoke(frame, "getLineNumber");
+	}
+
+	private static Object invoke(Object target, String name) throws ReflectiveOperationException {
+		Method method = target.getClass().getMethod(name);
+		return method.invoke(target);
+	}
+
+	public boolean isActive() {
+		return stream != null;
+	}
+
+	public List<SiteSnapshot> snapshot() {
+		return sites.values().stream()
+				.map(site -> new SiteSnapshot(site.site, site.count.sum(), site.totalNanos.sum() / 1_000_000.0))
+				.sorted(Comparator.comparingLong(SiteSnapshot::getCount).reversed()).collect(Collectors.toList());
+	}
+
+	@Override
+	public void close() throws Exception {
+		if (stream != null) {
+			stream.close();
+		}
+	}
+
+	private static class Site {
+		private final String site;
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+
+		Site(String site) {
+			this.site = site;
+		}
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class SiteSnapshot {
+		private final String site;
+		private final long count;
+		private final double totalMillis;
+	}
+}
@@ -0,0 +1,52 @@
+package com.example.querydsl.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.querydsl.repository.ParallelQueryExecutor;
+
+/*
+ * query 전용 bounded executor
+ * parallelQueryExecutor : paging content / count 병렬 실행 (PagingStrategy.PARALLEL)
+ * asyncQueryExecutor : /async/** 조회 endpoint 실행 (기본 크기 = hikari maximum-pool-size)
+ * task 마다 별도 connection 을 사용하므로 pool-size 는 connection pool 크기보다 작게 유지
+ */
+@Configuration
+public class QueryExecutorConfig {
+
+	@Bean
+	public ExecutorMetrics memberQueryExecutorMetrics() {
+		return new ExecutorMetrics("memberQuery");
+	}
+
+	@Bean(destroyMethod = "shutdown")
+	public ParallelQueryExecutor parallelQueryExecutor(PlatformTransactionManager transactionManager,
+			@Value("${member.search.parallel.pool-size:4}") int poolSize,
+			@Value("${member.search.parallel.queue-capacity:50}") int queueCapacity,
+			@Value("${member.search.parallel.timeout:5s}") Duration timeout) {
+		return new ParallelQueryExecutor(
+				memberQueryExecutorMetrics().newExecutor("member-query-", poolSize, queueCapacity),
+				transactionManager, timeout);
+	}
+
+	@Bean
+	@Profile("!virtual-threads")
+	public ExecutorMetrics memberSearchExecutorMetrics() {
+		return new ExecutorMetrics("memberSearch");
+	}
+
+	/* virtual-threads profile 에서는 VirtualThreadConfig 가 대신 등록 */
+	@Bean(destroyMethod = "shutdown")
+	@Profile("!virtual-threads")
+	public AsyncQueryExecutor asyncQueryExecutor(
+			@Value("${member.search.async.pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int poolSize,
+			@Value("${member.search.async.queue-capacity:100}") int queueCapacity) {
+		return new AsyncQueryExecutor(
+				memberSearchExecutorMetrics().newExecutor("member-search-", poolSize, queueCapacity));
+	}
+}
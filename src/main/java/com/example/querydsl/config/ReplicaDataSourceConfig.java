@@ -0,0 +1,90 @@
+package com.example.querydsl.config;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/*
+ * replica profile : primary(spring.datasource) + replica(datasource.replica.targets) routing
+ * dataSource bean = LazyConnectionDataSourceProxy(ReplicaRoutingDataSource)
+ * => 실제 connection 은 첫 statement 시점에 가져오므로 그 때 transaction 의 readOnly 여부로 대상 결정
+ * open-in-view 와 함께 쓸 수 없음 (요청 동안 첫 transaction 의 connection 이 EntityManager 에 묶여 재사용됨)
+ */
+@Configuration
+@Profile("replica")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfig {
+
+	public ReplicaDataSourceConfig(@Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+		if (openInView) {
+			throw new IllegalStateException(
+					"replica profile requires spring.jpa.open-in-view=false (writes after a read would use the replica connection)");
+		}
+	}
+
+	@Bean
+	public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties primaryProperties,
+			ReplicaProperties replicaProperties) {
+		HikariDataSource primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class)
+				.build();
+		primary.setPoolName("primary");
+		List<HikariDataSource> replicas = replicaProperties.getTargets().stream()
+				.map(target -> replica(primaryProperties, target, replicaProperties)).collect(Collectors.toList());
+		for (int i = 0; i < replicas.size(); i++) {
+			replicas.get(i).setPoolName("replica-" + i);
+		}
+		return new ReplicaRoutingDataSource(primary, replicas, replicaProperties.getLagTolerance().toMillis(),
+				replicaProperties.getLagQuery());
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("replicaRoutingDataSource") DataSource routingDataSource) {
+		return new LazyConnectionDataSourceProxy(routingDataSource);
+	}
+
+	@Bean
+	public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource) {
+		return new ReplicaLagMonitor(replicaRoutingDataSource);
+	}
+
+	private static HikariDataSource replica(DataSourceProperties primaryProperties, ReplicaProperties.Target target,
+			ReplicaProperties replicaProperties) {
+		HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).url(target.getUrl())
+				.username(target.getUsername() != null ? target.getUsername() : primaryProperties.determineUsername())
+				.password(target.getPassword() != null ? target.getPassword() : primaryProperties.determinePassword())
+				.driverClassName(primaryProperties.determineDriverClassName()).build();
+		dataSource.setReadOnly(true);
+		dataSource.setConnectionTimeout(replicaProperties.getConnectionTimeout().toMillis());
+		return dataSource;
+	}
+
+	public static class ReplicaLagMonitor {
+
+		private final ReplicaRoutingDataSource routingDataSource;
+
+		ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource) {
+			this.routingDataSource = routingDataSource;
+		}
+
+		@Scheduled(initialDelayString = "${datasource.replica.check-interval:PT5S}", fixedDelayString = "${datasource.replica.check-interval:PT5S}")
+		public void check() {
+			routingDataSource.checkReplicas();
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package com.example.querydsl.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/* datasource.replica.* (replica profile) */
+@Getter
+@Setter
+@ConfigurationProperties("datasource.replica")
+public class ReplicaProperties {
+
+	private List<Target> targets = new ArrayList<>();
+
+	/* 이 값보다 뒤처진 replica 는 routing 대상에서 제외 */
+	private Duration lagTolerance = Duration.ofSeconds(5);
+
+	/* replica 지연(ms) 을 돌려주는 query, 비어 있으면 connection 유효성만 확인 */
+	private String lagQuery;
+
+	private Duration checkInterval = Duration.ofSeconds(5);
+
+	/* replica 장애 시 primary 로 넘어가기까지 기다리는 최대 시간 */
+	private Duration connectionTimeout = Duration.ofSeconds(2);
+
+	@Getter
+	@Setter
+	public static class Target {
+		private String url;
+		private String username;
+		private String password;
+	}
+}
@@ -0,0 +1,193 @@
+package com.example.querydsl.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * readOnly transaction 은 replica, 나머지는 primary 로 보내는 DataSource
+ * - replica 는 round robin, 지연이 허용치를 넘었거나 connection 획득에 실패한 replica 는 제외
+ * - connection 획득 실패 시 같은 요청은 primary 로 처리 (fallback), 복구는 checkReplicas 가 판단
+ * readOnly 여부는 transaction 시작 후에 정해지므로 반드시 LazyConnectionDataSourceProxy 로 감싸서 사용
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+	static final String PRIMARY = "primary";
+
+	private final HikariDataSource primary;
+	private final List<Replica> replicas;
+	private final long lagToleranceMillis;
+	private final String lagQuery;
+	private final AtomicInteger next = new AtomicInteger();
+	private final LongAdder primaryRouted = new LongAdder();
+	private final LongAdder fallbacks = new LongAdder();
+
+	public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools,
+			long lagToleranceMillis, String lagQuery) {
+		this.primary = primary;
+		this.lagToleranceMillis = lagToleranceMillis;
+		this.lagQuery = StringUtils.hasText(lagQuery) ? lagQuery : null;
+		List<Replica> list = new ArrayList<>();
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		for (int i = 0; i < replicaPools.size(); i++) {
+			Replica replica = new Replica("replica-" + i, replicaPools.get(i));
+			list.add(replica);
+			targets.put(replica.name, replica.dataSource);
+		}
+		this.replicas = Collections.unmodifiableList(list);
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		Replica replica = currentReplica();
+		return replica == null ? PRIMARY : replica.name;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		Replica replica = currentReplica();
+		if (replica != null) {
+			try {
+				Connection connection = replica.dataSource.getConnection();
+				replica.routed.increment();
+				return connection;
+			} catch (SQLException | RuntimeException e) {
+				replica.markDown(e.toString());
+				fallbacks.increment();
+			}
+		}
+		primaryRouted.increment();
+		return primary.getConnection();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return determineTargetDataSource().getConnection(username, password);
+	}
+
+	private Replica currentReplica() {
+		if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return null;
+		}
+		int size = replicas.size();
+		int start = Math.floorMod(next.getAndIncrement(), size);
+		for (int i = 0; i < size; i++) {
+			Replica replica = replicas.get((start + i) % size);
+			if (replica.healthy) {
+				return replica;
+			}
+		}
+		return null;
+	}
+
+	/* 주기적으로 호출 (ReplicaLagMonitor) : 지연 측정 후 routing 대상 갱신 */
+	public void checkReplicas() {
+		for (Replica replica : replicas) {
+			try (Connection connection = replica.dataSource.getConnection()) {
+				long lag = lagQuery == null ? 0 : queryLag(connection);
+				replica.lagMillis = lag;
+				if (lag > lagToleranceMillis) {
+					replica.markDown("lag " + lag + "ms > " + lagToleranceMillis + "ms");
+				} else {
+					replica.markUp();
+				}
+			} catch (SQLException | RuntimeException e) {
+				replica.markDown(e.toString());
+			}
+		}
+	}
+
+	private long queryLag(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(lagQuery)) {
+			return rs.next() ? Math.round(rs.getDouble(1)) : 0;
+		}
+	}
+
+	public Stats stats() {
+		return new Stats(primaryRouted.sum(), fallbacks.sum(),
+				replicas.stream().map(Replica::snapshot).collect(Collectors.toList()));
+	}
+
+	@Override
+	public void destroy() {
+		replicas.forEach(replica -> replica.dataSource.close());
+		primary.close();
+	}
+
+	private static class Replica {
+		private final String name;
+		private final HikariDataSource dataSource;
+		private final LongAdder routed = new LongAdder();
+		private volatile boolean healthy = true;
+		private volatile long lagMillis = -1;
+		private volatile String lastError;
+
+		Replica(String name, HikariDataSource dataSource) {
+			this.name = name;
+			this.dataSource = dataSource;
+		}
+
+		void markDown(String reason) {
+			if (healthy) {
+				log.warn("replica {} excluded from routing: {}", name, reason);
+			}
+			healthy = false;
+			lastError = reason;
+		}
+
+		void markUp() {
+			if (!healthy) {
+				log.info("replica {} back in routing (lag {}ms)", name, lagMillis);
+			}
+			healthy = true;
+			lastError = null;
+		}
+
+		ReplicaSnapshot snapshot() {
+			return new ReplicaSnapshot(name, healthy, lagMillis, routed.sum(), lastError);
+		}
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Stats {
+		private final long primaryRouted;
+		private final long fallbacks;
+		private final List<ReplicaSnapshot> replicas;
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class ReplicaSnapshot {
+		private final String name;
+		private final boolean healthy;
+		private final long lagMillis;
+		private final long routed;
+		private final String lastError;
+	}
+}
@@ -0,0 +1,65 @@
+package com.example.querydsl.config;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/*
+ * virtual-threads profile (JDK 21+ 에서 실행, 빌드는 그대로 1.8)
+ * - tomcat 요청 처리 thread => virtual thread per request (repository 호출도 그 thread 에서 실행)
+ * - /async/** 조회 => virtual thread per task
+ * - thread pool 크기 대신 ConnectionPermits(= connection pool 크기) 로 db 동시 사용 제한
+ * - PinnedThreadMonitor 로 pinning 위치 집계 (/admin/virtual-threads)
+ * ParallelQueryExecutor(PagingStrategy.PARALLEL) 는 platform thread pool 그대로 사용
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadConfig {
+
+	public VirtualThreadConfig() {
+		if (!VirtualThreads.isSupported()) {
+			throw new IllegalStateException(
+					"virtual-threads profile requires JDK 21+ (running " + System.getProperty("java.version") + ")");
+		}
+	}
+
+	@Bean
+	public ConnectionPermits connectionPermits(
+			@Value("${virtual-threads.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+			@Value("${virtual-threads.acquire-timeout:2s}") Duration acquireTimeout) {
+		return new ConnectionPermits(permits, acquireTimeout);
+	}
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandler() {
+		ExecutorService executor = VirtualThreads.newPerTaskExecutor("http-vt-");
+		return protocolHandler -> protocolHandler.setExecutor(executor);
+	}
+
+	@Bean
+	public FilterRegistrationBean<ConnectionPermitFilter> connectionPermitFilter(ConnectionPermits connectionPermits) {
+		FilterRegistrationBean<ConnectionPermitFilter> registration = new FilterRegistrationBean<>(
+				new ConnectionPermitFilter(connectionPermits));
+		registration.addUrlPatterns("/v1/*", "/v2/*", "/v3/*", "/v4/*", "/teams", "/teams/*");
+		return registration;
+	}
+
+	@Bean(destroyMethod = "shutdown")
+	public AsyncQueryExecutor asyncQueryExecutor(ConnectionPermits connectionPermits) {
+		ExecutorService executor = VirtualThreads.newPerTaskExecutor("member-search-vt-");
+		return new AsyncQueryExecutor(executor, connectionPermits, executor::shutdown);
+	}
+
+	@Bean(destroyMethod = "close")
+	public PinnedThreadMonitor pinnedThreadMonitor(
+			@Value("${virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+		return new PinnedThreadMonitor(threshold);
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.querydsl.config;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/*
+ * virtual thread (JDK 21+) 접근
+ * 빌드는 sourceCompatibility 1.8 이므로 Thread.ofVirtual 등은 reflection 으로만 호출
+ */
+public final class VirtualThreads {
+
+	/*
+	 * Thread.isVirtual (JDK 21+), 없으면 null
+	 * 할당량 측정 등 매 호출 경로에서 쓰이므로 한 번만 찾아 둔 MethodHandle 로 호출 (static final 이라 JIT inline 가능)
+	 */
+	private static final MethodHandle IS_VIRTUAL = isVirtualHandle();
+
+	private VirtualThreads() {
+	}
+
+	private static MethodHandle isVirtualHandle() {
+		try {
+			return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual",
+					MethodType.methodType(boolean.class));
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	public static boolean isSupported() {
+		try {
+			Thread.class.getMethod("ofVirtual");
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	public static boolean isVirtual(Thread thread) {
+		if (IS_VIRTUAL == null) {
+			return false;
+		}
+		try {
+			return (boolean) IS_VIRTUAL.invokeExact(thread);
+		} catch (Throwable e) {
+			return false;
+		}
+	}
+
+	/* Thread.ofVirtual().name(prefix, 0).factory() */
+	public static ThreadFactory factory(String namePrefix) {
+		try {
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Class<?> ofVirtual = Class.forName("java.lang.Thread$Builder$OfVirtual");
+			builder = ofVirtual.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+			Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+			return (ThreadFactory) factory.invoke(builder);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("virtual threads require JDK 21+ (running " + System.getProperty("java.version") + ")", e);
+		}
+	}
+
+	/* Executors.newThreadPerTaskExecutor(factory) */
+	public static ExecutorService newPerTaskExecutor(String namePrefix) {
+		try {
+			Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+			return (ExecutorService) method.invoke(null, factory(namePrefix));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("virtual threads require JDK 21+ (running " + System.getProperty("java.version") + ")", e);
+		}
+	}
+}
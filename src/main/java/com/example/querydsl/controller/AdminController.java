@@ -0,0 +1,183 @@
+package com.example.querydsl.controller;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.querydsl.config.ConnectionPermits;
+import com.example.querydsl.config.ExecutorMetrics;
+import com.example.querydsl.config.PinnedThreadMonitor;
+import com.example.querydsl.config.ReplicaRoutingDataSource;
+import com.example.querydsl.monitoring.AllocationRegistry;
+import com.example.querydsl.monitoring.HibernateStatistics;
+import com.example.querydsl.monitoring.MethodMetrics;
+import com.example.querydsl.monitoring.QueryMetricsRegistry;
+import com.example.querydsl.monitoring.RequestTimeline;
+import com.example.querydsl.monitoring.RequestTimelineRecorder;
+import com.example.querydsl.monitoring.SlowQueryCapture;
+import com.example.querydsl.repository.MemberCountCache;
+import com.example.querydsl.repository.MemberIndexAdvisor;
+import com.example.querydsl.repository.TeamStatsReconciler;
+
+import lombok.RequiredArgsConstructor;
+
+/* 운영 점검용 endpoint */
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+	private final MemberCountCache memberCountCache;
+	private final List<ExecutorMetrics> executorMetrics;
+	private final QueryMetricsRegistry queryMetricsRegistry;
+	private final TeamStatsReconciler teamStatsReconciler;
+	private final MemberIndexAdvisor memberIndexAdvisor;
+	private final SlowQueryCapture slowQueryCapture;
+	private final RequestTimelineRecorder requestTimelineRecorder;
+	private final AllocationRegistry allocationRegistry;
+	private final HibernateStatistics hibernateStatistics;
+	private final ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource;
+	private final ObjectProvider<ConnectionPermits> connectionPermits;
+	private final ObjectProvider<PinnedThreadMonitor> pinnedThreadMonitor;
+
+	@GetMapping("/count-cache")
+	public MemberCountCache.Stats countCache() {
+		return memberCountCache.stats();
+	}
+
+	@PostMapping("/count-cache/invalidate")
+	public MemberCountCache.Stats invalidateCountCache() {
+		memberCountCache.invalidateAll();
+		return memberCountCache.stats();
+	}
+
+	@GetMapping("/executors")
+	public List<ExecutorMetrics.Snapshot> executors() {
+		return executorMetrics.stream().map(ExecutorMetrics::snapshot).collect(Collectors.toList());
+	}
+
+	/* repository method / JPAQueryFactory 연산별 latency, row, statement, connection 대기 */
+	@GetMapping("/metrics")
+	public List<MethodMetrics.Snapshot> metrics() {
+		return queryMetricsRegistry.snapshot();
+	}
+
+	@PostMapping("/metrics/reset")
+	public List<MethodMetrics.Snapshot> resetMetrics() {
+		queryMetricsRegistry.reset();
+		return queryMetricsRegistry.snapshot();
+	}
+
+	/* 보정된 row 수 */
+	@PostMapping("/team-stats/reconcile")
+	public int reconcileTeamStats() {
+		return teamStatsReconciler.reconcile();
+	}
+
+	/* replica profile 에서만 값이 있음 */
+	@GetMapping("/datasource-routing")
+	public ReplicaRoutingDataSource.Stats datasourceRouting() {
+		ReplicaRoutingDataSource routing = replicaRoutingDataSource.getIfAvailable();
+		return routing == null ? null : routing.stats();
+	}
+
+	/* virtual-threads profile 에서만 값이 있음 : connection permit 사용량 + pinning 위치 */
+	@GetMapping("/virtual-threads")
+	public Map<String, Object> virtualThreads() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		ConnectionPermits permits = connectionPermits.getIfAvailable();
+		PinnedThreadMonitor monitor = pinnedThreadMonitor.getIfAvailable();
+		result.put("enabled", permits != null);
+		if (permits != null) {
+			result.put("permits", permits.snapshot());
+		}
+		if (monitor != null) {
+			result.put("pinningMonitorActive", monitor.isActive());
+			result.put("pinnedSites", monitor.snapshot());
+		}
+		return result;
+	}
+
+	/* 검색 조건 조합별 호출 비율 + 없는 index 제안 (db/index/*.sql 에 반영) */
+	@GetMapping("/index-advisor")
+	public MemberIndexAdvisor.Report indexAdvisor() {
+		return memberIndexAdvisor.report();
+	}
+
+	@PostMapping("/index-advisor/reset")
+	public MemberIndexAdvisor.Report resetIndexAdvisor() {
+		memberIndexAdvisor.reset();
+		return memberIndexAdvisor.report();
+	}
+
+	/* threshold 를 넘은 repository select 의 sql / bind 값 / 실행 계획 (최근 것부터) */
+	@GetMapping("/slow-queries")
+	public SlowQueryCapture.Snapshot slowQueries() {
+		return slowQueryCapture.snapshot();
+	}
+
+	@PostMapping("/slow-queries/clear")
+	public SlowQueryCapture.Snapshot clearSlowQueries() {
+		slowQueryCapture.clear();
+		return slowQueryCapture.snapshot();
+	}
+
+	/* 검색 endpoint 중 가장 느렸던 요청의 구간별 시간 (응답 Server-Timing header 와 같은 값) */
+	@GetMapping("/timelines")
+	public List<RequestTimeline.Snapshot> timelines() {
+		return requestTimelineRecorder.slowest();
+	}
+
+	@PostMapping("/timelines/clear")
+	public List<RequestTimeline.Snapshot> clearTimelines() {
+		requestTimelineRecorder.clear();
+		return requestTimelineRecorder.slowest();
+	}
+
+	/* endpoint / repository method 별 할당량 분포 + row 당 할당량 regression */
+	@GetMapping("/allocations")
+	public AllocationRegistry.Report allocations() {
+		return allocationRegistry.report();
+	}
+
+	/* 의도한 변경 이후 현재 row 당 할당량을 기준값으로 */
+	@PostMapping("/allocations/rebaseline")
+	public AllocationRegistry.Report rebaselineAllocations() {
+		allocationRegistry.rebaseline();
+		return allocationRegistry.report();
+	}
+
+	@PostMapping("/allocations/reset")
+	public AllocationRegistry.Report resetAllocations() {
+		allocationRegistry.reset();
+		return allocationRegistry.report();
+	}
+
+	/* hibernate 통계 (entity / jpql 별, cache 적중률), limit : 총 실행 시간 순 query 개수 */
+	@GetMapping("/hibernate-statistics")
+	public HibernateStatistics.Report hibernateStatistics(@RequestParam(defaultValue = "50") int limit) {
+		return hibernateStatistics.report(limit);
+	}
+
+	/* 실행 중 수집 on / off (기본값 monitoring.hibernate-statistics.enabled) */
+	@PostMapping("/hibernate-statistics/enabled")
+	public HibernateStatistics.Report enableHibernateStatistics(@RequestParam boolean enabled) {
+		hibernateStatistics.setEnabled(enabled);
+		return hibernateStatistics.report(0);
+	}
+
+	/* 부하 테스트 구간 측정 시작 */
+	@PostMapping("/hibernate-statistics/reset")
+	public HibernateStatistics.Report resetHibernateStatistics() {
+		hibernateStatistics.reset();
+		return hibernateStatistics.report(0);
+	}
+}
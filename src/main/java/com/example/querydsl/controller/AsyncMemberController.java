@@ -0,0 +1,63 @@
+package com.example.querydsl.controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.querydsl.config.AsyncQueryExecutor;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.repository.CountMode;
+import com.example.querydsl.repository.MemberJpaRepository;
+import com.example.querydsl.repository.MemberRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+ * /v1 ~ /v3 의 비동기 버전
+ * 조회는 AsyncQueryExecutor 에서 실행되고 tomcat thread 는 바로 반환 (servlet async)
+ * executor 포화 시 503 + Retry-After, 처리 시간이 spring.mvc.async.request-timeout 을 넘어도 503
+ */
+@RestController
+@RequiredArgsConstructor
+public class AsyncMemberController {
+
+	private final AsyncQueryExecutor asyncQueryExecutor;
+	private final MemberJpaRepository memberJpaRepository;
+	private final MemberRepository memberRepository;
+
+	@GetMapping("/async/v1/members")
+	public CompletableFuture<List<MemberTeamDto>> searchMemberV1(MemberSearchCondition condition) {
+		return asyncQueryExecutor.supply(() -> memberJpaRepository.search(condition));
+	}
+
+	@GetMapping("/async/v2/members")
+	public CompletableFuture<Page<MemberTeamDto>> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
+		return asyncQueryExecutor.supply(() -> memberRepository.searchPageSimple(condition, pageable));
+	}
+
+	@GetMapping("/async/v3/members")
+	public CompletableFuture<Page<MemberTeamDto>> searchMemberV3(MemberSearchCondition condition, Pageable pageable,
+			@RequestParam(required = false) CountMode countMode) {
+		if (countMode == null) {
+			return asyncQueryExecutor.supply(() -> memberRepository.searchPageComplex(condition, pageable));
+		}
+		return asyncQueryExecutor.supply(() -> memberRepository.searchPageComplex(condition, pageable, countMode));
+	}
+
+	@ExceptionHandler(RejectedExecutionException.class)
+	public ResponseEntity<String> saturated(RejectedExecutionException e) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+				.body(e.getMessage());
+	}
+}
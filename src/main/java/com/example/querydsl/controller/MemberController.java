@@ -1,16 +1,34 @@
 package com.example.querydsl.controller;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberSlice;
 import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.repository.CountMode;
+import com.example.querydsl.repository.InvalidCursorException;
 import com.example.querydsl.repository.MemberJpaRepository;
 import com.example.querydsl.repository.MemberRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -18,22 +36,119 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class MemberController {
 	
+	private static final int MAX_SLICE_SIZE = 100;
+	
 	private final MemberJpaRepository memberJpaRepository;
 	private final MemberRepository memberRepository;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping("/v1/members")
 	public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition){
 		return memberJpaRepository.search(condition);
 	}
 	
+	/*
+	 * v1 과 같은 조건의 대량 export
+	 * 결과 전체를 List 로 만들지 않고 조회되는 대로 한 row 씩 response 에 기록 (format = ndjson | csv)
+	 */
+	@GetMapping("/v1/members/export")
+	public void exportMemberV1(MemberSearchCondition condition,
+			@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+		boolean csv = "csv".equalsIgnoreCase(format);
+		if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unsupported format");
+		}
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+
+		Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+		try {
+			if (csv) {
+				writer.write("memberId,username,age,teamId,teamName\n");
+				memberJpaRepository.streamSearch(condition, row -> writeCsv(writer, row));
+			} else {
+				JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+				// row 마다 socket 까지 flush 하지 않고 BufferedWriter 로만 내보냄
+				generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+				// root value 사이 기본 구분자(" ") 대신 writeJson 의 줄바꿈만 사용
+				generator.setRootValueSeparator(null);
+				memberJpaRepository.streamSearch(condition, row -> writeJson(generator, writer, row));
+				generator.flush();
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		writer.flush();
+	}
+	
+	private void writeJson(JsonGenerator generator, Writer writer, MemberTeamDto row) {
+		try {
+			objectMapper.writeValue(generator, row);
+			generator.flush();
+			writer.write('\n');
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private void writeCsv(Writer writer, MemberTeamDto row) {
+		try {
+			writer.write(String.valueOf(row.getMemberId()));
+			writer.write(',');
+			writer.write(csvValue(row.getUsername()));
+			writer.write(',');
+			writer.write(Integer.toString(row.getAge()));
+			writer.write(',');
+			writer.write(row.getTeamId() == null ? "" : row.getTeamId().toString());
+			writer.write(',');
+			writer.write(csvValue(row.getTeamName()));
+			writer.write('\n');
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private static String csvValue(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+	
 	@GetMapping("/v2/members")
 	public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition,Pageable pageable){
 		return memberRepository.searchPageSimple(condition,pageable);
 	}
 	
+	/* countMode(EXACT | PLANNER | SAMPLED) 를 생략하면 member.search.count-mode 설정을 따름 */
 	@GetMapping("/v3/members")
-	public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition,Pageable pageable){
-		return memberRepository.searchPageComplex(condition,pageable);
+	public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition,Pageable pageable,
+			@RequestParam(required = false) CountMode countMode){
+		if (countMode == null) {
+			return memberRepository.searchPageComplex(condition,pageable);
+		}
+		return memberRepository.searchPageComplex(condition,pageable,countMode);
+	}
+	
+	/* keyset paging : 응답의 nextCursor 를 다음 요청의 cursor 로 전달 */
+	@GetMapping("/v4/members")
+	public MemberSlice searchMemberV4(MemberSearchCondition condition,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "20") int size){
+		if (size < 1) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be positive");
+		}
+		return memberRepository.searchSlice(condition, cursor, Math.min(size, MAX_SLICE_SIZE));
+	}
+	
+	/* 내부 예외 message 가 응답에 섞이지 않도록 cursor 오류만 400 으로 변환 */
+	@ExceptionHandler(InvalidCursorException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public String invalidCursor(InvalidCursorException e) {
+		return "invalid cursor";
 	}
 	
 }
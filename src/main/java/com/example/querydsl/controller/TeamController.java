@@ -0,0 +1,34 @@
+package com.example.querydsl.controller;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.querydsl.dto.TeamMembersDto;
+import com.example.querydsl.dto.TeamStatsDto;
+import com.example.querydsl.repository.TeamRepository;
+import com.example.querydsl.repository.TeamStatsRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+
+	private final TeamRepository teamRepository;
+	private final TeamStatsRepository teamStatsRepository;
+
+	@GetMapping("/teams")
+	public Page<TeamMembersDto> teams(Pageable pageable) {
+		return teamRepository.findTeamsWithMembers(pageable);
+	}
+
+	/* member 를 다시 집계하지 않고 요약 table(TeamStats) 에서 조회 */
+	@GetMapping("/teams/stats")
+	public List<TeamStatsDto> teamStats() {
+		return teamStatsRepository.findAll();
+	}
+}
@@ -0,0 +1,26 @@
+package com.example.querydsl.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/*
+ * total count 가 정확한 값인지(totalExact) 추정치인지 함께 내려주는 Page
+ * 추정치이면 client 는 "약 N 건" 으로 표시
+ */
+public class CountedPage<T> extends PageImpl<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final boolean totalExact;
+
+	public CountedPage(List<T> content, Pageable pageable, long total, boolean totalExact) {
+		super(content, pageable, total);
+		this.totalExact = totalExact;
+	}
+
+	public boolean isTotalExact() {
+		return totalExact;
+	}
+}
@@ -0,0 +1,22 @@
+package com.example.querydsl.dto;
+
+import java.util.List;
+
+import lombok.Getter;
+
+/*
+ * keyset(seek) paging 결과
+ * nextCursor 는 다음 조회 시 그대로 넘겨주는 opaque token (마지막 slice 이면 null)
+ */
+@Getter
+public class MemberSlice {
+	private final List<MemberTeamDto> content;
+	private final boolean hasNext;
+	private final String nextCursor;
+
+	public MemberSlice(List<MemberTeamDto> content, boolean hasNext, String nextCursor) {
+		this.content = content;
+		this.hasNext = hasNext;
+		this.nextCursor = nextCursor;
+	}
+}
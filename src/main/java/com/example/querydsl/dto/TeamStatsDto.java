@@ -0,0 +1,31 @@
+package com.example.querydsl.dto;
+
+import lombok.Data;
+
+@Data
+public class TeamStatsDto {
+	private Long teamId;
+	private String teamName;
+	private long memberCount;
+	private long ageSum;
+	private Double ageAvg;
+	private Integer minAge;
+	private Integer maxAge;
+	private long age0To20;
+	private long age21To30;
+	private long ageOther;
+
+	public TeamStatsDto(Long teamId, String teamName, Long memberCount, Long ageSum, Integer minAge, Integer maxAge,
+			Long age0To20, Long age21To30, Long ageOther) {
+		this.teamId = teamId;
+		this.teamName = teamName;
+		this.memberCount = memberCount == null ? 0 : memberCount;
+		this.ageSum = ageSum == null ? 0 : ageSum;
+		this.ageAvg = this.memberCount == 0 ? null : (double) this.ageSum / this.memberCount;
+		this.minAge = minAge;
+		this.maxAge = maxAge;
+		this.age0To20 = age0To20 == null ? 0 : age0To20;
+		this.age21To30 = age21To30 == null ? 0 : age21To30;
+		this.ageOther = ageOther == null ? 0 : ageOther;
+	}
+}
@@ -1,12 +1,18 @@
 package com.example.querydsl.entity;
 
+import java.util.Objects;
+
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.Transient;
 
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -15,6 +21,12 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
+@Table(indexes = {
+		@Index(name = "idx_member_username", columnList = "username"),
+		@Index(name = "idx_member_age", columnList = "age"),
+		/* team_id 단독 조회(fk, team 조건)도 선두 컬럼으로 처리 => team_id 단독 index 는 두지 않음 */
+		@Index(name = "idx_member_team_age", columnList = "team_id, age") })
+@EntityListeners(TeamStatsListener.class)
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -35,6 +47,17 @@ public class Member {
 	//연관 관계 field는 건드리지 않는 것이 좋음
 	private Team team;
 
+	/* TeamStats 증분 계산용 마지막 반영 값 (TeamStatsListener) */
+	@Transient
+	@Getter(AccessLevel.PACKAGE)
+	@Setter(AccessLevel.NONE)
+	private Long statsTeamId;
+
+	@Transient
+	@Getter(AccessLevel.PACKAGE)
+	@Setter(AccessLevel.NONE)
+	private Integer statsAge;
+
 	public Member(String username) {
 		this(username, 0);
 	}
@@ -55,4 +78,13 @@ public class Member {
 		this.team = team;
 		team.getMembers().add(this);
 	}
-}
\ No newline at end of file
+
+	void snapshotStats() {
+		this.statsTeamId = team == null ? null : team.getId();
+		this.statsAge = age;
+	}
+
+	boolean statsChanged(Long teamId) {
+		return statsAge == null || statsAge != age || !Objects.equals(statsTeamId, teamId);
+	}
+}
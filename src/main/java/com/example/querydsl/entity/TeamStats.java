@@ -0,0 +1,84 @@
+package com.example.querydsl.entity;
+
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/*
+ * team 별 member 통계 요약 (member 변경 시 TeamStatsListener -> TeamStatsUpdater 가 증분 반영)
+ * 나이 구간은 QuerydslBasicTest3 의 CaseBuilder 와 동일 : 0~20 / 21~30 / 기타
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class TeamStats {
+
+	@Id
+	@Column(name = "team_id")
+	private Long teamId;
+
+	private long memberCount;
+
+	private long ageSum;
+
+	private Integer minAge;
+
+	private Integer maxAge;
+
+	private long age0To20;
+
+	private long age21To30;
+
+	private long ageOther;
+
+	public TeamStats(Long teamId) {
+		this.teamId = teamId;
+	}
+
+	public TeamStats(Long teamId, long memberCount, long ageSum, Integer minAge, Integer maxAge, long age0To20,
+			long age21To30, long ageOther) {
+		this.teamId = teamId;
+		this.memberCount = memberCount;
+		this.ageSum = ageSum;
+		this.minAge = minAge;
+		this.maxAge = maxAge;
+		this.age0To20 = age0To20;
+		this.age21To30 = age21To30;
+		this.ageOther = ageOther;
+	}
+
+	/* 0 : 0~20, 1 : 21~30, 2 : 기타 */
+	public static int ageBand(int age) {
+		if (age >= 0 && age <= 20) {
+			return 0;
+		}
+		if (age >= 21 && age <= 30) {
+			return 1;
+		}
+		return 2;
+	}
+
+	public boolean sameFigures(TeamStats other) {
+		return memberCount == other.memberCount && ageSum == other.ageSum && Objects.equals(minAge, other.minAge)
+				&& Objects.equals(maxAge, other.maxAge) && age0To20 == other.age0To20
+				&& age21To30 == other.age21To30 && ageOther == other.ageOther;
+	}
+
+	public void copyFigures(TeamStats other) {
+		this.memberCount = other.memberCount;
+		this.ageSum = other.ageSum;
+		this.minAge = other.minAge;
+		this.maxAge = other.maxAge;
+		this.age0To20 = other.age0To20;
+		this.age21To30 = other.age21To30;
+		this.ageOther = other.ageOther;
+	}
+}
@@ -0,0 +1,93 @@
+package com.example.querydsl.entity;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import javax.persistence.PrePersist;
+import javax.persistence.PreRemove;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.example.querydsl.repository.TeamStatsUpdater;
+
+/*
+ * Member / Team 변경을 TeamStats 증분으로 변환
+ * member 는 load/persist 시점의 (team id, age) 를 기억해 두고 update/remove 시 이전 값을 빼고 새 값을 더함
+ * team 삭제 시 요약 row 삭제
+ * 변경량은 commit 직전에 반영되므로 flush 전 callback(load / persist / remove)에서 TeamStatsUpdater 를 미리 준비
+ * jpql bulk update/delete 는 entity 를 거치지 않으므로 여기서 잡히지 않음 => TeamStatsReconciler 가 보정
+ * (spring boot 가 hibernate bean container 를 spring 으로 설정하므로 생성자 주입 가능,
+ *  listener 는 EntityManagerFactory 생성 중에 만들어지므로 updater 는 ObjectProvider 로 늦게 꺼냄)
+ */
+public class TeamStatsListener {
+
+	private final ObjectProvider<TeamStatsUpdater> updaterProvider;
+	private TeamStatsUpdater updater;
+
+	public TeamStatsListener(ObjectProvider<TeamStatsUpdater> updaterProvider) {
+		this.updaterProvider = updaterProvider;
+	}
+
+	@PostLoad
+	public void postLoad(Object entity) {
+		if (entity instanceof Member) {
+			((Member) entity).snapshotStats();
+		}
+		updater().prepare();
+	}
+
+	@PrePersist
+	@PreRemove
+	public void prepare(Object entity) {
+		updater().prepare();
+	}
+
+	@PostPersist
+	public void postPersist(Object entity) {
+		if (entity instanceof Team) {
+			updater().teamCreated(((Team) entity).getId());
+		} else if (entity instanceof Member) {
+			Member member = (Member) entity;
+			updater().memberAdded(teamId(member), member.getAge());
+			member.snapshotStats();
+		}
+	}
+
+	@PostUpdate
+	public void postUpdate(Object entity) {
+		if (!(entity instanceof Member)) {
+			return;
+		}
+		Member member = (Member) entity;
+		Long teamId = teamId(member);
+		if (!member.statsChanged(teamId)) {
+			return;
+		}
+		updater().memberRemoved(member.getStatsTeamId(), member.getStatsAge());
+		updater().memberAdded(teamId, member.getAge());
+		member.snapshotStats();
+	}
+
+	@PostRemove
+	public void postRemove(Object entity) {
+		if (entity instanceof Team) {
+			updater().teamRemoved(((Team) entity).getId());
+		} else if (entity instanceof Member) {
+			Member member = (Member) entity;
+			updater().memberRemoved(member.getStatsTeamId(), member.getStatsAge());
+		}
+	}
+
+	/* lazy proxy 의 id 조회는 초기화를 일으키지 않음 */
+	private static Long teamId(Member member) {
+		return member.getTeam() == null ? null : member.getTeam().getId();
+	}
+
+	private TeamStatsUpdater updater() {
+		if (updater == null) {
+			updater = updaterProvider.getObject();
+		}
+		return updater;
+	}
+}
@@ -0,0 +1,60 @@
+package com.example.querydsl.monitoring;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/*
+ * 검색 endpoint 요청 단위 할당량 (요청 thread 의 할당 byte 전후 차이)
+ * 응답 직렬화까지 포함, 다른 thread(병렬 paging)에서 할당된 양은 포함되지 않음
+ */
+@Component
+public class AllocationFilter extends OncePerRequestFilter {
+
+	private final AllocationRegistry registry;
+	private final Set<String> paths;
+
+	public AllocationFilter(AllocationRegistry registry,
+			@Value("${monitoring.allocation.paths:/v1/members,/v1/members/export,/v2/members,/v3/members,/v4/members}") String[] paths) {
+		this.registry = registry;
+		this.paths = new HashSet<>(Arrays.asList(paths));
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !registry.isEnabled()
+				|| !paths.contains(request.getRequestURI().substring(request.getContextPath().length()));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		AllocationRegistry.openRequest();
+		long before = ThreadAllocation.currentBytes();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			long rows = AllocationRegistry.closeRequest();
+			// 측정할 수 없는 thread (-1) 이면 기록하지 않음 (-1 - -1 = 0 이 기록되는 것 방지)
+			if (before >= 0) {
+				registry.endpoint(endpointName(request)).record(ThreadAllocation.currentBytes() - before, rows);
+			}
+		}
+	}
+
+	private static String endpointName(HttpServletRequest request) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+	}
+}
@@ -0,0 +1,130 @@
+package com.example.querydsl.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * endpoint / repository method 단위 할당량
+ * - 호출당 할당 byte 분포 (LatencyHistogram 을 byte 값에 사용)
+ * - row 당 할당 byte : 최근 값(지수 이동 평균)을 기준값과 비교해 regression 판단
+ *   기준값은 처음 baselineCalls 번(JIT / class loading 할당 제외)을 건너뛴 다음 baselineCalls 번의 평균
+ * record 는 모든 요청에서 호출되므로 lock 없이 갱신 (이동 평균은 double bit 를 CAS, 기준값 구간은 LongAdder)
+ */
+public class AllocationMetrics {
+
+	private static final double RECENT_WEIGHT = 0.05;
+	private static final long NONE = Double.doubleToRawLongBits(-1);
+
+	private final String name;
+	private final int baselineCalls;
+	private final double tolerance;
+	private final LatencyHistogram bytes = new LatencyHistogram();
+	private final LongAdder rows = new LongAdder();
+
+	private final AtomicLong ratioCalls = new AtomicLong();
+	private final LongAdder baselineBytes = new LongAdder();
+	private final LongAdder baselineRows = new LongAdder();
+	private volatile double baselineBytesPerRow = -1;
+	/* Double.doubleToRawLongBits 로 저장 */
+	private final AtomicLong recentBytesPerRow = new AtomicLong(NONE);
+
+	public AllocationMetrics(String name, int baselineCalls, double tolerance) {
+		this.name = name;
+		this.baselineCalls = baselineCalls;
+		this.tolerance = tolerance;
+	}
+
+	public void record(long allocatedBytes, long rowCount) {
+		if (allocatedBytes < 0) {
+			return;
+		}
+		bytes.record(allocatedBytes);
+		if (rowCount > 0) {
+			rows.add(rowCount);
+			recordRatio(allocatedBytes, rowCount);
+		}
+	}
+
+	private void recordRatio(long allocatedBytes, long rowCount) {
+		double ratio = (double) allocatedBytes / rowCount;
+		long current;
+		long next;
+		do {
+			current = recentBytesPerRow.get();
+			double recent = Double.longBitsToDouble(current);
+			next = Double.doubleToRawLongBits(recent < 0 ? ratio : recent + RECENT_WEIGHT * (ratio - recent));
+		} while (!recentBytesPerRow.compareAndSet(current, next));
+
+		if (baselineBytesPerRow >= 0) {
+			return;
+		}
+		long calls = ratioCalls.incrementAndGet();
+		if (calls <= baselineCalls) {
+			return;
+		}
+		baselineBytes.add(allocatedBytes);
+		baselineRows.add(rowCount);
+		if (calls >= 2L * baselineCalls) {
+			baselineBytesPerRow = (double) baselineBytes.sum() / baselineRows.sum();
+		}
+	}
+
+	private double recentBytesPerRow() {
+		return Double.longBitsToDouble(recentBytesPerRow.get());
+	}
+
+	/* 의도한 변경 이후 현재 값을 새 기준값으로 */
+	public synchronized void rebaseline() {
+		double recent = recentBytesPerRow();
+		if (recent >= 0) {
+			baselineBytesPerRow = recent;
+		}
+	}
+
+	public synchronized void reset() {
+		bytes.reset();
+		rows.reset();
+		ratioCalls.set(0);
+		baselineBytes.reset();
+		baselineRows.reset();
+		baselineBytesPerRow = -1;
+		recentBytesPerRow.set(NONE);
+	}
+
+	public Snapshot snapshot() {
+		long count = bytes.count();
+		long rowSum = rows.sum();
+		double recent = recentBytesPerRow();
+		double baseline = baselineBytesPerRow;
+		boolean regressed = baseline > 0 && recent > baseline * (1 + tolerance);
+		return new Snapshot(name, count, count == 0 ? 0 : bytes.sum() / count, bytes.percentile(0.5),
+				bytes.percentile(0.9), bytes.percentile(0.99), bytes.max(), rowSum,
+				rowSum == 0 ? 0 : (double) bytes.sum() / rowSum, recent, baseline, regressed);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Snapshot {
+		private final String name;
+		private final long count;
+		private final long meanBytes;
+		private final long p50Bytes;
+		private final long p90Bytes;
+		private final long p99Bytes;
+		private final long maxBytes;
+		private final long rows;
+		private final double bytesPerRow;
+		/* -1 : 아직 row 를 반환한 호출 없음 */
+		private final double recentBytesPerRow;
+		/* -1 : 기준값 수집 중 */
+		private final double baselineBytesPerRow;
+		private final boolean regressed;
+	}
+}
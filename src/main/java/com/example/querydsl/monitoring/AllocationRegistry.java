@@ -0,0 +1,112 @@
+package com.example.querydsl.monitoring;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.querydsl.config.VirtualThreads;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * 할당량 지표 저장소 (/admin/allocations)
+ * - endpoint : AllocationFilter 가 요청 단위로 기록, row 수는 요청 중 repository 호출이 반환한 row 합
+ * - repository : RepositoryMetricsInterceptor 가 method 호출 단위로 기록
+ * virtual thread 는 thread 별 할당량을 조회할 수 없으므로(-1) 현재 thread 가 virtual 이면 꺼진 것으로 취급
+ */
+@Component
+public class AllocationRegistry {
+
+	private static final ThreadLocal<long[]> REQUEST_ROWS = new ThreadLocal<>();
+
+	private final boolean enabled;
+	private final int baselineCalls;
+	private final double tolerance;
+	private final ConcurrentMap<String, AllocationMetrics> endpoints = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, AllocationMetrics> repositories = new ConcurrentHashMap<>();
+
+	public AllocationRegistry(@Value("${monitoring.allocation.enabled:true}") boolean enabled,
+			@Value("${monitoring.allocation.baseline-calls:200}") int baselineCalls,
+			@Value("${monitoring.allocation.regression-tolerance:0.25}") double tolerance) {
+		this.enabled = enabled && ThreadAllocation.isSupported();
+		this.baselineCalls = baselineCalls;
+		this.tolerance = tolerance;
+	}
+
+	public boolean isEnabled() {
+		return enabled && !VirtualThreads.isVirtual(Thread.currentThread());
+	}
+
+	public AllocationMetrics endpoint(String name) {
+		return get(endpoints, name);
+	}
+
+	public AllocationMetrics repository(String name) {
+		return get(repositories, name);
+	}
+
+	private AllocationMetrics get(ConcurrentMap<String, AllocationMetrics> metrics, String name) {
+		AllocationMetrics existing = metrics.get(name);
+		return existing != null ? existing
+				: metrics.computeIfAbsent(name, n -> new AllocationMetrics(n, baselineCalls, tolerance));
+	}
+
+	static void openRequest() {
+		REQUEST_ROWS.set(new long[1]);
+	}
+
+	/* 요청 밖(scheduler 등)에서의 호출은 무시 */
+	static void addRequestRows(long rows) {
+		long[] requestRows = REQUEST_ROWS.get();
+		if (requestRows != null && rows > 0) {
+			requestRows[0] += rows;
+		}
+	}
+
+	static long closeRequest() {
+		long[] requestRows = REQUEST_ROWS.get();
+		REQUEST_ROWS.remove();
+		return requestRows == null ? 0 : requestRows[0];
+	}
+
+	public Report report() {
+		List<AllocationMetrics.Snapshot> endpointSnapshots = snapshot(endpoints.values());
+		List<AllocationMetrics.Snapshot> repositorySnapshots = snapshot(repositories.values());
+		List<String> regressed = endpointSnapshots.stream().filter(AllocationMetrics.Snapshot::isRegressed)
+				.map(AllocationMetrics.Snapshot::getName).collect(Collectors.toList());
+		return new Report(isEnabled(), tolerance, regressed, endpointSnapshots, repositorySnapshots);
+	}
+
+	private static List<AllocationMetrics.Snapshot> snapshot(Collection<AllocationMetrics> metrics) {
+		return metrics.stream().map(AllocationMetrics::snapshot)
+				.sorted(Comparator.comparing(AllocationMetrics.Snapshot::getName)).collect(Collectors.toList());
+	}
+
+	public void rebaseline() {
+		endpoints.values().forEach(AllocationMetrics::rebaseline);
+		repositories.values().forEach(AllocationMetrics::rebaseline);
+	}
+
+	public void reset() {
+		endpoints.values().forEach(AllocationMetrics::reset);
+		repositories.values().forEach(AllocationMetrics::reset);
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Report {
+		private final boolean enabled;
+		private final double regressionTolerance;
+		/* row 당 할당량이 기준값보다 tolerance 이상 늘어난 endpoint */
+		private final List<String> regressedEndpoints;
+		private final List<AllocationMetrics.Snapshot> endpoints;
+		private final List<AllocationMetrics.Snapshot> repositories;
+	}
+}
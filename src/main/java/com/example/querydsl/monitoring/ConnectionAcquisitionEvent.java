@@ -0,0 +1,26 @@
+package com.example.querydsl.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/* DataSource.getConnection 1 건 (duration = pool 대기 포함 획득 시간) */
+@Name("com.example.querydsl.ConnectionAcquisition")
+@Label("JDBC Connection Acquisition")
+@Category({ "Querydsl", "Persistence" })
+@Description("DataSource.getConnection through p6spy")
+@Enabled(false)
+class ConnectionAcquisitionEvent extends Event {
+
+	@Label("Connection Id")
+	int connectionId;
+
+	@Label("Repository Method")
+	String repositoryMethod;
+
+	@Label("Failed")
+	boolean failed;
+}
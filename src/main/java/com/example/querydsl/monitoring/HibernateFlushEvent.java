@@ -0,0 +1,37 @@
+package com.example.querydsl.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/* persistence context flush 1 건 (명시적 flush / commit 전 flush / query 전 auto flush) */
+@Name("com.example.querydsl.Flush")
+@Label("Hibernate Flush")
+@Category({ "Querydsl", "Persistence" })
+@Description("EntityManager flush with dirty checking")
+@Enabled(false)
+class HibernateFlushEvent extends Event {
+
+	@Label("Auto Flush")
+	@Description("flush triggered before query execution")
+	boolean auto;
+
+	@Label("Flushed")
+	@Description("false if auto flush found nothing to flush")
+	boolean flushed;
+
+	@Label("Entities Checked")
+	int entities;
+
+	@Label("Collections Checked")
+	int collections;
+
+	@Label("Dirty Entities")
+	int dirty;
+
+	@Label("Repository Method")
+	String repositoryMethod;
+}
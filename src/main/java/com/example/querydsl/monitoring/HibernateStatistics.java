@@ -0,0 +1,146 @@
+package com.example.querydsl.monitoring;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * hibernate Statistics 를 구조화해서 제공 (/admin/hibernate-statistics)
+ * hibernate.generate_statistics 대신 실행 중에 켜고 끔 => session 종료마다 찍히는 통계 로그 없음
+ * 부하 테스트 구간 측정 : reset -> 부하 -> 조회
+ * query 통계는 jpql 문자열 단위 (조건 조합별로 jpql 이 다르면 따로 집계됨)
+ */
+@Component
+public class HibernateStatistics {
+
+	private static final List<Class<?>> ENTITIES = Arrays.asList(Member.class, Team.class);
+
+	private final Statistics statistics;
+
+	public HibernateStatistics(EntityManagerFactory entityManagerFactory,
+			@Value("${monitoring.hibernate-statistics.enabled:false}") boolean enabled) {
+		this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		this.statistics.setStatisticsEnabled(enabled);
+	}
+
+	public boolean isEnabled() {
+		return statistics.isStatisticsEnabled();
+	}
+
+	public void setEnabled(boolean enabled) {
+		statistics.setStatisticsEnabled(enabled);
+	}
+
+	public void reset() {
+		statistics.clear();
+	}
+
+	/* query 는 총 실행 시간(횟수 x 평균) 순으로 limit 개 */
+	public Report report(int limit) {
+		List<Entity> entities = ENTITIES.stream().map(this::entity).collect(Collectors.toList());
+		List<Query> queries = Arrays.stream(statistics.getQueries()).map(this::query)
+				.sorted(Comparator.comparingLong(Query::getTotalTimeMillis).reversed()).limit(limit)
+				.collect(Collectors.toList());
+		return new Report(isEnabled(), Instant.ofEpochMilli(statistics.getStartTime()),
+				statistics.getSessionOpenCount(), statistics.getTransactionCount(), statistics.getFlushCount(),
+				statistics.getPrepareStatementCount(), statistics.getQueryExecutionCount(),
+				statistics.getQueryExecutionMaxTime(), statistics.getQueryExecutionMaxTimeQueryString(),
+				new Cache(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+						statistics.getSecondLevelCachePutCount()),
+				new Cache(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+						statistics.getQueryCachePutCount()),
+				new Cache(statistics.getQueryPlanCacheHitCount(), statistics.getQueryPlanCacheMissCount(), 0),
+				entities, queries);
+	}
+
+	private Entity entity(Class<?> type) {
+		EntityStatistics entity = statistics.getEntityStatistics(type.getName());
+		return new Entity(type.getSimpleName(), entity.getLoadCount(), entity.getFetchCount(), entity.getInsertCount(),
+				entity.getUpdateCount(), entity.getDeleteCount(), entity.getOptimisticFailureCount(),
+				new Cache(entity.getCacheHitCount(), entity.getCacheMissCount(), entity.getCachePutCount()));
+	}
+
+	private Query query(String jpql) {
+		QueryStatistics query = statistics.getQueryStatistics(jpql);
+		return new Query(jpql, query.getExecutionCount(), query.getExecutionRowCount(), query.getExecutionAvgTime(),
+				query.getExecutionMaxTime(), query.getExecutionCount() * query.getExecutionAvgTime(),
+				new Cache(query.getCacheHitCount(), query.getCacheMissCount(), query.getCachePutCount()));
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Report {
+		private final boolean enabled;
+		/* 통계 시작(reset) 시각 */
+		private final Instant since;
+		private final long sessions;
+		private final long transactions;
+		private final long flushes;
+		private final long statements;
+		private final long queryExecutions;
+		private final long queryExecutionMaxMillis;
+		private final String slowestQuery;
+		private final Cache secondLevelCache;
+		private final Cache queryCache;
+		/* jpql -> sql 변환 결과 cache */
+		private final Cache queryPlanCache;
+		private final List<Entity> entities;
+		private final List<Query> queries;
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Entity {
+		private final String name;
+		private final long loads;
+		private final long fetches;
+		private final long inserts;
+		private final long updates;
+		private final long deletes;
+		private final long optimisticFailures;
+		private final Cache secondLevelCache;
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Query {
+		private final String jpql;
+		private final long executions;
+		private final long rows;
+		private final long avgMillis;
+		private final long maxMillis;
+		private final long totalTimeMillis;
+		private final Cache cache;
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Cache {
+		private final long hits;
+		private final long misses;
+		private final long puts;
+
+		/* 조회가 없었으면 0 */
+		public double getHitRatio() {
+			long lookups = hits + misses;
+			return lookups == 0 ? 0 : (double) hits / lookups;
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.querydsl.monitoring;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+
+import com.querydsl.core.NonUniqueResultException;
+import com.querydsl.jpa.impl.JPAQuery;
+
+/* fetch 계열 실행 시점에 QueryExecutionListener 호출 */
+public class InstrumentedJPAQuery<T> extends JPAQuery<T> {
+
+	private final List<QueryExecutionListener> listeners;
+
+	public InstrumentedJPAQuery(EntityManager em, List<QueryExecutionListener> listeners) {
+		super(em);
+		this.listeners = listeners;
+	}
+
+	@Override
+	public List<T> fetch() {
+		QueryExecution execution = before("fetch");
+		List<T> result = null;
+		Throwable failure = null;
+		try {
+			result = super.fetch();
+			return result;
+		} catch (RuntimeException | Error e) {
+			failure = e;
+			throw e;
+		} finally {
+			after(execution, result == null ? 0 : result.size(), failure);
+		}
+	}
+
+	@Override
+	public T fetchOne() throws NonUniqueResultException {
+		QueryExecution execution = before("fetchOne");
+		T result = null;
+		Throwable failure = null;
+		try {
+			result = super.fetchOne();
+			return result;
+		} catch (RuntimeException | Error e) {
+			failure = e;
+			throw e;
+		} finally {
+			after(execution, result == null ? 0 : 1, failure);
+		}
+	}
+
+	@Override
+	@Deprecated
+	public long fetchCount() {
+		QueryExecution execution = before("fetchCount");
+		Throwable failure = null;
+		try {
+			return super.fetchCount();
+		} catch (RuntimeException | Error e) {
+			failure = e;
+			throw e;
+		} finally {
+			after(execution, failure == null ? 1 : 0, failure);
+		}
+	}
+
+	/* cursor 를 여는 시점까지만 측정 (row 수는 알 수 없음) */
+	@Override
+	public Stream<T> stream() {
+		QueryExecution execution = before("stream");
+		Throwable failure = null;
+		try {
+			return super.stream();
+		} catch (RuntimeException | Error e) {
+			failure = e;
+			throw e;
+		} finally {
+			after(execution, -1, failure);
+		}
+	}
+
+	private QueryExecution before(String operation) {
+		return QueryExecution.before(listeners, this, null, operation);
+	}
+
+	private void after(QueryExecution execution, long rows, Throwable failure) {
+		QueryExecution.after(listeners, execution, rows, failure);
+	}
+}
@@ -0,0 +1,47 @@
+package com.example.querydsl.monitoring;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import javax.persistence.EntityManager;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+/* select / selectFrom / from 모두 query() 를 거치므로 여기서만 InstrumentedJPAQuery 로 교체 */
+public class InstrumentedJPAQueryFactory extends JPAQueryFactory {
+
+	private final EntityManager em;
+	private final List<QueryExecutionListener> listeners;
+
+	public InstrumentedJPAQueryFactory(EntityManager em, List<QueryExecutionListener> listeners) {
+		super(em);
+		this.em = em;
+		this.listeners = listeners;
+	}
+
+	@Override
+	public JPAQuery<?> query() {
+		return new InstrumentedJPAQuery<Void>(em, listeners);
+	}
+
+	/*
+	 * querydsl query 를 거치지 않고 미리 serialize 해 둔 jpql 을 실행할 때도 같은 listener 로 측정 (MemberSearchTemplates)
+	 * operation 은 InstrumentedJPAQuery 와 같은 이름 (fetch | fetchOne)
+	 */
+	public <R> R execute(String jpql, String operation, Supplier<R> query, ToLongFunction<R> rows) {
+		QueryExecution execution = QueryExecution.before(listeners, null, jpql, operation);
+		R result = null;
+		Throwable failure = null;
+		try {
+			result = query.get();
+			return result;
+		} catch (RuntimeException | Error e) {
+			failure = e;
+			throw e;
+		} finally {
+			QueryExecution.after(listeners, execution, result == null ? 0 : rows.applyAsLong(result), failure);
+		}
+	}
+}
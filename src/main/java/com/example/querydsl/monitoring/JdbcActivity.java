@@ -0,0 +1,28 @@
+package com.example.querydsl.monitoring;
+
+/*
+ * thread 별 jdbc 활동 누계 (JdbcActivityListener 가 갱신)
+ * 값은 계속 증가만 하므로 측정 구간 전후 값의 차이로 사용
+ */
+public final class JdbcActivity {
+
+	private static final ThreadLocal<JdbcActivity> CURRENT = ThreadLocal.withInitial(JdbcActivity::new);
+
+	long statements;
+	long connectionWaitNanos;
+
+	private JdbcActivity() {
+	}
+
+	public static JdbcActivity current() {
+		return CURRENT.get();
+	}
+
+	public long statements() {
+		return statements;
+	}
+
+	public long connectionWaitNanos() {
+		return connectionWaitNanos;
+	}
+}
@@ -0,0 +1,24 @@
+package com.example.querydsl.monitoring;
+
+import java.sql.SQLException;
+
+import org.springframework.stereotype.Component;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+/* p6spy 단에서 statement 실행 수 / connection 획득 대기 시간을 thread 별로 누적 */
+@Component
+public class JdbcActivityListener extends SimpleJdbcEventListener {
+
+	@Override
+	public void onAfterGetConnection(ConnectionInformation connectionInformation, SQLException e) {
+		JdbcActivity.current().connectionWaitNanos += connectionInformation.getTimeToGetConnectionNs();
+	}
+
+	@Override
+	public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+		JdbcActivity.current().statements++;
+	}
+}
@@ -0,0 +1,43 @@
+package com.example.querydsl.monitoring;
+
+import java.sql.SQLException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+/* ConnectionAcquisitionEvent 기록 (p6spy getConnection 전후) */
+@Component
+@ConditionalOnClass(name = "jdk.jfr.Event")
+public class JfrConnectionListener extends SimpleJdbcEventListener {
+
+	private static final ThreadLocal<ConnectionAcquisitionEvent> CURRENT = new ThreadLocal<>();
+
+	@Override
+	public void onBeforeGetConnection(ConnectionInformation connectionInformation) {
+		ConnectionAcquisitionEvent event = new ConnectionAcquisitionEvent();
+		if (!event.isEnabled()) {
+			return;
+		}
+		event.begin();
+		CURRENT.set(event);
+	}
+
+	@Override
+	public void onAfterGetConnection(ConnectionInformation connectionInformation, SQLException e) {
+		ConnectionAcquisitionEvent event = CURRENT.get();
+		if (event == null) {
+			return;
+		}
+		CURRENT.remove();
+		event.end();
+		if (event.shouldCommit()) {
+			event.connectionId = connectionInformation.getConnectionId();
+			event.repositoryMethod = RepositoryMetricsInterceptor.currentMethod();
+			event.failed = e != null;
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package com.example.querydsl.monitoring;
+
+import java.util.Collections;
+
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * JFR custom event (com.example.querydsl.*) 연결, 모두 기본 비활성
+ * - QueryExecution : JfrQueryListener
+ * - ConnectionAcquisition : JfrConnectionListener
+ * - Flush : JfrFlushIntegrator (hibernate event listener)
+ * 녹화 : jcmd <pid> JFR.start settings=default,querydsl.jfc (src/main/resources/jfr/querydsl.jfc)
+ * jdk.jfr 가 없는 JRE (8u262 이전) 에서는 등록하지 않음 => event class 를 load 하지 않으므로 그대로 기동
+ */
+@Configuration
+@ConditionalOnClass(name = "jdk.jfr.Event")
+public class JfrEventsConfig {
+
+	@Bean
+	HibernatePropertiesCustomizer jfrFlushIntegrator() {
+		IntegratorProvider integrators = () -> Collections.singletonList(new JfrFlushIntegrator());
+		return properties -> properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, integrators);
+	}
+}
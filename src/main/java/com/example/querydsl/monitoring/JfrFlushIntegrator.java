@@ -0,0 +1,107 @@
+package com.example.querydsl.monitoring;
+
+import org.hibernate.HibernateException;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AutoFlushEvent;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEntityEvent;
+import org.hibernate.event.spi.FlushEntityEventListener;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/*
+ * HibernateFlushEvent 기록
+ * hibernate 기본 flush listener 앞(start)과 뒤(end)에 listener 를 붙여 시간을 재고
+ * flush entity listener 뒤에서 dirty 로 판정된 entity 수를 셈
+ * 녹화 중이 아니면 start 에서 isEnabled 확인만 하고 끝
+ */
+public class JfrFlushIntegrator implements Integrator {
+
+	private static final ThreadLocal<HibernateFlushEvent> CURRENT = new ThreadLocal<>();
+
+	@Override
+	public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+			SessionFactoryServiceRegistry serviceRegistry) {
+		EventListenerRegistry registry = serviceRegistry.getService(EventListenerRegistry.class);
+		registry.prependListeners(EventType.FLUSH, new Start());
+		registry.prependListeners(EventType.AUTO_FLUSH, new Start());
+		registry.appendListeners(EventType.FLUSH, new End());
+		registry.appendListeners(EventType.AUTO_FLUSH, new End());
+		registry.appendListeners(EventType.FLUSH_ENTITY, new End());
+	}
+
+	@Override
+	public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+	}
+
+	private static void start() {
+		HibernateFlushEvent event = new HibernateFlushEvent();
+		if (!event.isEnabled()) {
+			return;
+		}
+		event.begin();
+		CURRENT.set(event);
+	}
+
+	private static void end(FlushEvent flush, boolean auto, boolean flushed) {
+		HibernateFlushEvent event = CURRENT.get();
+		if (event == null) {
+			return;
+		}
+		CURRENT.remove();
+		event.end();
+		if (event.shouldCommit()) {
+			event.auto = auto;
+			event.flushed = flushed;
+			event.entities = flush.getNumberOfEntitiesProcessed();
+			event.collections = flush.getNumberOfCollectionsProcessed();
+			event.repositoryMethod = RepositoryMetricsInterceptor.currentMethod();
+			event.commit();
+		}
+	}
+
+	private static class Start implements FlushEventListener, AutoFlushEventListener {
+
+		@Override
+		public void onFlush(FlushEvent event) throws HibernateException {
+			start();
+		}
+
+		@Override
+		public void onAutoFlush(AutoFlushEvent event) throws HibernateException {
+			start();
+		}
+	}
+
+	private static class End implements FlushEventListener, AutoFlushEventListener, FlushEntityEventListener {
+
+		@Override
+		public void onFlush(FlushEvent event) throws HibernateException {
+			end(event, false, true);
+		}
+
+		@Override
+		public void onAutoFlush(AutoFlushEvent event) throws HibernateException {
+			end(event, true, event.isFlushRequired());
+		}
+
+		/* 기본 listener 가 dirty check 를 끝낸 뒤 호출됨 */
+		@Override
+		public void onFlushEntity(FlushEntityEvent event) throws HibernateException {
+			HibernateFlushEvent flush = CURRENT.get();
+			if (flush != null && (isDirty(event) || event.hasDirtyCollection())) {
+				flush.dirty++;
+			}
+		}
+
+		private static boolean isDirty(FlushEntityEvent event) {
+			int[] dirtyProperties = event.getDirtyProperties();
+			return dirtyProperties != null && dirtyProperties.length > 0;
+		}
+	}
+}
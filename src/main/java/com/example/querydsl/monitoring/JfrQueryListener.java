@@ -0,0 +1,46 @@
+package com.example.querydsl.monitoring;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+/*
+ * QueryExecutionEvent 기록
+ * 녹화 중이 아니면 isEnabled 확인만 하고 끝 (event 객체는 escape analysis 로 할당 제거)
+ * jpql serialize 는 threshold 를 넘어 실제로 commit 되는 event 에서만
+ */
+@Component
+@ConditionalOnClass(name = "jdk.jfr.Event")
+public class JfrQueryListener implements QueryExecutionListener {
+
+	private static final Object EVENT = new Object();
+
+	@Override
+	public void beforeQuery(QueryExecution execution) {
+		QueryExecutionEvent event = new QueryExecutionEvent();
+		if (!event.isEnabled()) {
+			return;
+		}
+		event.begin();
+		execution.setAttribute(EVENT, event);
+	}
+
+	@Override
+	public void afterQuery(QueryExecution execution) {
+		QueryExecutionEvent event = (QueryExecutionEvent) execution.getAttribute(EVENT);
+		if (event == null) {
+			return;
+		}
+		event.end();
+		if (!event.shouldCommit()) {
+			return;
+		}
+		event.operation = execution.getOperation();
+		event.jpql = execution.getJpql();
+		event.repositoryMethod = RepositoryMetricsInterceptor.currentMethod();
+		event.rows = execution.getRows();
+		event.statements = execution.getStatements();
+		event.connectionWait = execution.getConnectionWaitNanos();
+		event.failed = execution.getFailure() != null;
+		event.commit();
+	}
+}
@@ -0,0 +1,100 @@
+package com.example.querydsl.monitoring;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * lock-free latency histogram (nanos)
+ * 2 의 거듭제곱 구간을 다시 4 등분한 bucket => 백분위 오차 최대 약 25%, 기록은 LongAdder 증가 한 번
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKETS = 4;
+	private static final int BUCKETS = SUB_BUCKETS + (63 - 2) * SUB_BUCKETS;
+
+	private final LongAdder[] buckets = new LongAdder[BUCKETS];
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	public LatencyHistogram() {
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	public void record(long value) {
+		long v = Math.max(0, value);
+		buckets[index(v)].increment();
+		count.increment();
+		sum.add(v);
+		max.accumulate(v);
+	}
+
+	public long count() {
+		return count.sum();
+	}
+
+	public long sum() {
+		return sum.sum();
+	}
+
+	public long max() {
+		return max.get();
+	}
+
+	public double mean() {
+		long n = count.sum();
+		return n == 0 ? 0 : (double) sum.sum() / n;
+	}
+
+	/* p (0 ~ 1) 백분위가 속한 bucket 의 상한 */
+	public long percentile(double p) {
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets[i].sum();
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(p * total);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(upperBound(i), max());
+			}
+		}
+		return max();
+	}
+
+	public void reset() {
+		for (LongAdder bucket : buckets) {
+			bucket.reset();
+		}
+		count.reset();
+		sum.reset();
+		max.reset();
+	}
+
+	static int index(long v) {
+		if (v < SUB_BUCKETS) {
+			return (int) v;
+		}
+		int exp = 63 - Long.numberOfLeadingZeros(v);
+		int sub = (int) (v >>> (exp - 2)) & (SUB_BUCKETS - 1);
+		return SUB_BUCKETS + (exp - 2) * SUB_BUCKETS + sub;
+	}
+
+	static long upperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int exp = (index - SUB_BUCKETS) / SUB_BUCKETS + 2;
+		int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+		long width = 1L << (exp - 2);
+		return (1L << exp) + sub * width + width - 1;
+	}
+}
@@ -0,0 +1,80 @@
+package com.example.querydsl.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/* repository method / query 단위 지표 */
+public class MethodMetrics {
+
+	private final String name;
+	private final LatencyHistogram latency = new LatencyHistogram();
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder rows = new LongAdder();
+	private final LongAdder statements = new LongAdder();
+	private final LongAdder connectionWaitNanos = new LongAdder();
+
+	public MethodMetrics(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void record(long elapsedNanos, long rowCount, long statementCount, long connectionWait, boolean failed) {
+		latency.record(elapsedNanos);
+		if (failed) {
+			errors.increment();
+		}
+		if (rowCount > 0) {
+			rows.add(rowCount);
+		}
+		statements.add(statementCount);
+		connectionWaitNanos.add(connectionWait);
+	}
+
+	public Snapshot snapshot() {
+		long count = latency.count();
+		return new Snapshot(name, count, errors.sum(), millis(latency.mean()), millis(latency.percentile(0.5)),
+				millis(latency.percentile(0.9)), millis(latency.percentile(0.99)), millis(latency.max()),
+				rows.sum(), average(rows.sum(), count), statements.sum(), average(statements.sum(), count),
+				millis(connectionWaitNanos.sum()));
+	}
+
+	public void reset() {
+		latency.reset();
+		errors.reset();
+		rows.reset();
+		statements.reset();
+		connectionWaitNanos.reset();
+	}
+
+	private static double millis(double nanos) {
+		return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	private static double average(long total, long count) {
+		return count == 0 ? 0 : (double) total / count;
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Snapshot {
+		private final String name;
+		private final long count;
+		private final long errors;
+		private final double meanMillis;
+		private final double p50Millis;
+		private final double p90Millis;
+		private final double p99Millis;
+		private final double maxMillis;
+		private final long rows;
+		private final double rowsPerCall;
+		private final long statements;
+		private final double statementsPerCall;
+		private final double connectionWaitMillis;
+	}
+}
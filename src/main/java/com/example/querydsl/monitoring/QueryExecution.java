@@ -0,0 +1,111 @@
+package com.example.querydsl.monitoring;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.querydsl.jpa.JPQLQuery;
+
+/*
+ * InstrumentedJPAQuery (또는 InstrumentedJPAQueryFactory.execute 로 실행한 jpql) 한 번의 실행 정보
+ * 같은 객체가 beforeQuery / afterQuery 에 전달되므로 listener 는 attribute 로 상태를 넘길 수 있음
+ * jpql 문자열은 serialize 비용이 있어 필요한 listener 만 getJpql 로 꺼내 씀 (미리 만든 jpql 이면 그대로)
+ */
+public class QueryExecution {
+
+	private final JPQLQuery<?> query;
+	private final String jpql;
+	private final String operation;
+	private final long startNanos = System.nanoTime();
+	private final long statementsBefore;
+	private final long connectionWaitBefore;
+	private long elapsedNanos;
+	private long rows = -1;
+	private Throwable failure;
+	private Map<Object, Object> attributes;
+
+	private QueryExecution(JPQLQuery<?> query, String jpql, String operation) {
+		this.query = query;
+		this.jpql = jpql;
+		this.operation = operation;
+		JdbcActivity activity = JdbcActivity.current();
+		this.statementsBefore = activity.statements();
+		this.connectionWaitBefore = activity.connectionWaitNanos();
+	}
+
+	/* listener 가 없으면 null (측정 비용 없음) */
+	static QueryExecution before(List<QueryExecutionListener> listeners, JPQLQuery<?> query, String jpql,
+			String operation) {
+		if (listeners.isEmpty()) {
+			return null;
+		}
+		QueryExecution execution = new QueryExecution(query, jpql, operation);
+		for (QueryExecutionListener listener : listeners) {
+			listener.beforeQuery(execution);
+		}
+		return execution;
+	}
+
+	static void after(List<QueryExecutionListener> listeners, QueryExecution execution, long rows,
+			Throwable failure) {
+		if (execution == null) {
+			return;
+		}
+		execution.elapsedNanos = System.nanoTime() - execution.startNanos;
+		execution.rows = rows;
+		execution.failure = failure;
+		for (int i = listeners.size() - 1; i >= 0; i--) {
+			listeners.get(i).afterQuery(execution);
+		}
+	}
+
+	/* querydsl query 로 실행된 경우만, 미리 만든 jpql 을 실행한 경우 null */
+	public JPQLQuery<?> getQuery() {
+		return query;
+	}
+
+	public String getJpql() {
+		return jpql != null ? jpql : query.toString();
+	}
+
+	/* fetch | fetchOne | fetchCount | stream */
+	public String getOperation() {
+		return operation;
+	}
+
+	public long getStartNanos() {
+		return startNanos;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/* 결과 row 수, stream 처럼 실행 시점에 알 수 없으면 -1 */
+	public long getRows() {
+		return rows;
+	}
+
+	public Throwable getFailure() {
+		return failure;
+	}
+
+	public long getStatements() {
+		return JdbcActivity.current().statements() - statementsBefore;
+	}
+
+	public long getConnectionWaitNanos() {
+		return JdbcActivity.current().connectionWaitNanos() - connectionWaitBefore;
+	}
+
+	public Object getAttribute(Object key) {
+		return attributes == null ? null : attributes.get(key);
+	}
+
+	public void setAttribute(Object key, Object value) {
+		if (attributes == null) {
+			attributes = new IdentityHashMap<>(4);
+		}
+		attributes.put(key, value);
+	}
+}
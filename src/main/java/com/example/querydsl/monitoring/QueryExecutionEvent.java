@@ -0,0 +1,44 @@
+package com.example.querydsl.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/*
+ * InstrumentedJPAQuery 실행 1 건 (duration = querydsl 호출 시작 ~ 결과 반환)
+ * 기본 비활성 : 녹화 설정에서 켤 때만 기록 (src/main/resources/jfr/querydsl.jfc)
+ */
+@Name("com.example.querydsl.QueryExecution")
+@Label("Querydsl Query Execution")
+@Category({ "Querydsl", "Persistence" })
+@Description("JPAQueryFactory query fetch / fetchOne / fetchCount / stream")
+@Enabled(false)
+class QueryExecutionEvent extends Event {
+
+	@Label("Operation")
+	String operation;
+
+	@Label("JPQL")
+	String jpql;
+
+	@Label("Repository Method")
+	String repositoryMethod;
+
+	@Label("Rows")
+	@Description("-1 if unknown (stream)")
+	long rows;
+
+	@Label("Statements")
+	long statements;
+
+	@Label("Connection Wait")
+	@Timespan(Timespan.NANOSECONDS)
+	long connectionWait;
+
+	@Label("Failed")
+	boolean failed;
+}
@@ -0,0 +1,11 @@
+package com.example.querydsl.monitoring;
+
+/* InstrumentedJPAQueryFactory 로 만든 query 의 실행 전후 callback (bean 으로 등록하면 자동 연결) */
+public interface QueryExecutionListener {
+
+	default void beforeQuery(QueryExecution execution) {
+	}
+
+	default void afterQuery(QueryExecution execution) {
+	}
+}
@@ -0,0 +1,21 @@
+package com.example.querydsl.monitoring;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/* JPAQueryFactory 로 실행된 query 를 연산(fetch, fetchCount ...) 단위로 집계 */
+@Component
+@RequiredArgsConstructor
+public class QueryMetricsListener implements QueryExecutionListener {
+
+	private static final String PREFIX = "JPAQueryFactory.";
+
+	private final QueryMetricsRegistry registry;
+
+	@Override
+	public void afterQuery(QueryExecution execution) {
+		registry.get(PREFIX + execution.getOperation()).record(execution.getElapsedNanos(), execution.getRows(),
+				execution.getStatements(), execution.getConnectionWaitNanos(), execution.getFailure() != null);
+	}
+}
@@ -0,0 +1,30 @@
+package com.example.querydsl.monitoring;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+/* 이름(ex. MemberRepository.searchPageComplex) 별 MethodMetrics 저장소 */
+@Component
+public class QueryMetricsRegistry {
+
+	private final ConcurrentMap<String, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+	public MethodMetrics get(String name) {
+		MethodMetrics existing = metrics.get(name);
+		return existing != null ? existing : metrics.computeIfAbsent(name, MethodMetrics::new);
+	}
+
+	public List<MethodMetrics.Snapshot> snapshot() {
+		return metrics.values().stream().map(MethodMetrics::snapshot)
+				.sorted(Comparator.comparing(MethodMetrics.Snapshot::getName)).collect(Collectors.toList());
+	}
+
+	public void reset() {
+		metrics.values().forEach(MethodMetrics::reset);
+	}
+}
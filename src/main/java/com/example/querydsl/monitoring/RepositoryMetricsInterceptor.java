@@ -0,0 +1,107 @@
+package com.example.querydsl.monitoring;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import com.example.querydsl.dto.MemberSlice;
+
+/*
+ * repository method 호출 단위 측정
+ * 호출당 비용: nanoTime 2번 + ThreadLocal 조회 + Method -> MethodMetrics 조회 (첫 호출 이후 lock 없음)
+ * + 할당량 측정이 켜져 있으면 thread 할당 byte 조회 2번
+ */
+class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+	/* 현재 thread 에서 실행 중인 가장 바깥쪽 repository method (ex. MemberRepository.searchPageComplex) */
+	private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+	private final String repositoryName;
+	private final QueryMetricsRegistry registry;
+	private final AllocationRegistry allocationRegistry;
+	private final ConcurrentMap<Method, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+	RepositoryMetricsInterceptor(String repositoryName, QueryMetricsRegistry registry,
+			AllocationRegistry allocationRegistry) {
+		this.repositoryName = repositoryName;
+		this.registry = registry;
+		this.allocationRegistry = allocationRegistry;
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Method method = invocation.getMethod();
+		if (method.getDeclaringClass() == Object.class) {
+			return invocation.proceed();
+		}
+		JdbcActivity activity = JdbcActivity.current();
+		long statements = activity.statements();
+		long connectionWait = activity.connectionWaitNanos();
+		MethodMetrics metrics = metricsFor(method);
+		String outer = CURRENT.get();
+		if (outer == null) {
+			CURRENT.set(metrics.getName());
+		}
+		long allocatedBefore = allocationRegistry.isEnabled() ? ThreadAllocation.currentBytes() : -1;
+		long start = System.nanoTime();
+		Object result = null;
+		boolean failed = true;
+		try {
+			result = invocation.proceed();
+			failed = false;
+			return result;
+		} finally {
+			long elapsed = System.nanoTime() - start;
+			long rows = rows(result);
+			if (allocatedBefore >= 0) {
+				allocationRegistry.repository(metrics.getName()).record(ThreadAllocation.currentBytes() - allocatedBefore,
+						rows);
+			}
+			if (outer == null) {
+				AllocationRegistry.addRequestRows(rows);
+				CURRENT.remove();
+				RequestTimeline timeline = RequestTimeline.current();
+				if (timeline != null) {
+					timeline.repository(elapsed);
+				}
+			}
+			metrics.record(elapsed, rows,
+					activity.statements() - statements, activity.connectionWaitNanos() - connectionWait, failed);
+		}
+	}
+
+	static String currentMethod() {
+		return CURRENT.get();
+	}
+
+	private MethodMetrics metricsFor(Method method) {
+		MethodMetrics existing = metrics.get(method);
+		return existing != null ? existing
+				: metrics.computeIfAbsent(method, m -> registry.get(repositoryName + "." + m.getName()));
+	}
+
+	static long rows(Object result) {
+		if (result == null) {
+			return 0;
+		}
+		if (result instanceof Collection) {
+			return ((Collection<?>) result).size();
+		}
+		if (result instanceof Slice) {
+			return ((Slice<?>) result).getNumberOfElements();
+		}
+		if (result instanceof MemberSlice) {
+			return ((MemberSlice) result).getContent().size();
+		}
+		if (result instanceof Optional) {
+			return ((Optional<?>) result).isPresent() ? 1 : 0;
+		}
+		return 1;
+	}
+}
@@ -0,0 +1,60 @@
+package com.example.querydsl.monitoring;
+
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import com.example.querydsl.repository.MemberJpaRepository;
+import com.example.querydsl.repository.MemberRepository;
+import com.example.querydsl.repository.TeamRepository;
+
+/*
+ * MemberRepository(+Custom), MemberJpaRepository, TeamRepository 에 RepositoryMetricsInterceptor 를 가장 바깥쪽 advice 로 추가
+ * 이미 proxy 인 경우(spring data repository, @Repository 예외 변환) 기존 proxy 에 advice 만 추가
+ */
+@Component
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+	private final ObjectProvider<QueryMetricsRegistry> registry;
+	private final ObjectProvider<AllocationRegistry> allocationRegistry;
+
+	public RepositoryMetricsPostProcessor(ObjectProvider<QueryMetricsRegistry> registry,
+			ObjectProvider<AllocationRegistry> allocationRegistry) {
+		this.registry = registry;
+		this.allocationRegistry = allocationRegistry;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		String name = repositoryName(bean);
+		if (name == null) {
+			return bean;
+		}
+		RepositoryMetricsInterceptor interceptor = new RepositoryMetricsInterceptor(name, registry.getObject(),
+				allocationRegistry.getObject());
+		if (bean instanceof Advised && !((Advised) bean).isFrozen()) {
+			((Advised) bean).addAdvice(0, interceptor);
+			return bean;
+		}
+		ProxyFactory proxyFactory = new ProxyFactory(bean);
+		proxyFactory.setProxyTargetClass(bean instanceof MemberJpaRepository);
+		proxyFactory.addAdvice(interceptor);
+		return proxyFactory.getProxy(AopUtils.getTargetClass(bean).getClassLoader());
+	}
+
+	private static String repositoryName(Object bean) {
+		if (bean instanceof MemberRepository) {
+			return MemberRepository.class.getSimpleName();
+		}
+		if (bean instanceof MemberJpaRepository) {
+			return MemberJpaRepository.class.getSimpleName();
+		}
+		if (bean instanceof TeamRepository) {
+			return TeamRepository.class.getSimpleName();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,167 @@
+package com.example.querydsl.monitoring;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * http 요청 한 건의 구간별 소요 시간 (RequestTimelineFilter 가 열고 닫음)
+ * - db-content / db-count : p6spy 가 잰 statement 실행 시간 (count 는 select count / explain)
+ * - db-conn : connection 획득 대기
+ * - mapping : repository 호출 시간 - 위 db 구간 (result set 읽기 + dto 생성 + jpql 변환)
+ * - serialize : controller 반환 이후 message converter 가 응답을 쓰는 시간
+ * 병렬 paging 처럼 다른 thread 에서 실행되는 query 는 wrap 으로 같은 timeline 에 합침 (그래서 LongAdder)
+ */
+public final class RequestTimeline {
+
+	private static final ThreadLocal<RequestTimeline> CURRENT = new ThreadLocal<>();
+
+	private final String name;
+	private final Instant startedAt = Instant.now();
+	private final long startNanos = System.nanoTime();
+	private final LongAdder contentNanos = new LongAdder();
+	private final LongAdder contentStatements = new LongAdder();
+	private final LongAdder countNanos = new LongAdder();
+	private final LongAdder countStatements = new LongAdder();
+	private final LongAdder connectionNanos = new LongAdder();
+	private final LongAdder repositoryNanos = new LongAdder();
+	private long serializeStartNanos;
+	private long serializeNanos;
+	private long totalNanos;
+
+	private RequestTimeline(String name) {
+		this.name = name;
+	}
+
+	public static RequestTimeline open(String name) {
+		RequestTimeline timeline = new RequestTimeline(name);
+		CURRENT.set(timeline);
+		return timeline;
+	}
+
+	public static RequestTimeline current() {
+		return CURRENT.get();
+	}
+
+	/* 호출 thread 의 timeline 을 task 실행 thread 에 연결 */
+	public static <T> Supplier<T> wrap(Supplier<T> task) {
+		RequestTimeline timeline = CURRENT.get();
+		if (timeline == null) {
+			return task;
+		}
+		return () -> {
+			RequestTimeline previous = CURRENT.get();
+			CURRENT.set(timeline);
+			try {
+				return task.get();
+			} finally {
+				if (previous == null) {
+					CURRENT.remove();
+				} else {
+					CURRENT.set(previous);
+				}
+			}
+		};
+	}
+
+	void statement(String sql, long elapsedNanos) {
+		if (isCount(sql)) {
+			countNanos.add(elapsedNanos);
+			countStatements.increment();
+		} else {
+			contentNanos.add(elapsedNanos);
+			contentStatements.increment();
+		}
+	}
+
+	void connectionWait(long nanos) {
+		connectionNanos.add(nanos);
+	}
+
+	void repository(long nanos) {
+		repositoryNanos.add(nanos);
+	}
+
+	void serializeStarted() {
+		if (serializeStartNanos == 0) {
+			serializeStartNanos = System.nanoTime();
+		}
+	}
+
+	void finish() {
+		long now = System.nanoTime();
+		totalNanos = now - startNanos;
+		serializeNanos = serializeStartNanos == 0 ? 0 : now - serializeStartNanos;
+		if (CURRENT.get() == this) {
+			CURRENT.remove();
+		}
+	}
+
+	long getTotalNanos() {
+		return totalNanos;
+	}
+
+	private long mappingNanos() {
+		return Math.max(0, repositoryNanos.sum() - contentNanos.sum() - countNanos.sum() - connectionNanos.sum());
+	}
+
+	/* Server-Timing header 값 (dur 단위 ms) */
+	public String serverTiming() {
+		StringBuilder header = new StringBuilder(160);
+		append(header, "db-content", contentNanos.sum(), contentStatements.sum() + " statements");
+		append(header, "db-count", countNanos.sum(), countStatements.sum() + " statements");
+		append(header, "db-conn", connectionNanos.sum(), "connection acquisition");
+		append(header, "mapping", mappingNanos(), "result mapping");
+		append(header, "serialize", serializeNanos, "json serialization");
+		append(header, "total", totalNanos, null);
+		return header.toString();
+	}
+
+	private static void append(StringBuilder header, String metric, long nanos, String description) {
+		if (header.length() > 0) {
+			header.append(", ");
+		}
+		header.append(metric).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0));
+		if (description != null) {
+			header.append(";desc=\"").append(description).append('"');
+		}
+	}
+
+	public Snapshot snapshot() {
+		return new Snapshot(name, startedAt, millis(totalNanos), millis(contentNanos.sum()), contentStatements.sum(),
+				millis(countNanos.sum()), countStatements.sum(), millis(connectionNanos.sum()), millis(mappingNanos()),
+				millis(serializeNanos));
+	}
+
+	private static double millis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	static boolean isCount(String sql) {
+		if (sql == null) {
+			return false;
+		}
+		String trimmed = sql.trim();
+		return trimmed.regionMatches(true, 0, "select count(", 0, 13) || trimmed.regionMatches(true, 0, "explain", 0, 7);
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Snapshot {
+		private final String name;
+		private final Instant startedAt;
+		private final double totalMillis;
+		private final double contentMillis;
+		private final long contentStatements;
+		private final double countMillis;
+		private final long countStatements;
+		private final double connectionWaitMillis;
+		private final double mappingMillis;
+		private final double serializeMillis;
+	}
+}
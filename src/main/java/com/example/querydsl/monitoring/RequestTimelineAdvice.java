@@ -0,0 +1,30 @@
+package com.example.querydsl.monitoring;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/* message converter 가 응답을 쓰기 직전 = RequestTimeline serialize 구간 시작 */
+@ControllerAdvice
+public class RequestTimelineAdvice implements ResponseBodyAdvice<Object> {
+
+	@Override
+	public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+		return RequestTimeline.current() != null;
+	}
+
+	@Override
+	public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+			Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+			ServerHttpResponse response) {
+		RequestTimeline timeline = RequestTimeline.current();
+		if (timeline != null) {
+			timeline.serializeStarted();
+		}
+		return body;
+	}
+}
@@ -0,0 +1,60 @@
+package com.example.querydsl.monitoring;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/*
+ * 검색 endpoint 응답에 Server-Timing header 추가 + 느린 요청 timeline 보관
+ * serialize 구간까지 header 에 넣기 위해 응답 body 를 buffer 에 받은 뒤 header 를 쓰고 내보냄
+ * => streaming 응답(/v1/members/export)은 대상에서 제외 (monitoring.timeline.paths)
+ */
+@Component
+public class RequestTimelineFilter extends OncePerRequestFilter {
+
+	public static final String HEADER = "Server-Timing";
+
+	private final Set<String> paths;
+	private final RequestTimelineRecorder recorder;
+
+	public RequestTimelineFilter(RequestTimelineRecorder recorder,
+			@Value("${monitoring.timeline.paths:/v1/members,/v2/members,/v3/members,/v4/members}") String[] paths) {
+		this.recorder = recorder;
+		this.paths = new HashSet<>(Arrays.asList(paths));
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !paths.contains(request.getRequestURI().substring(request.getContextPath().length()));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String query = request.getQueryString();
+		RequestTimeline timeline = RequestTimeline.open(
+				request.getMethod() + " " + request.getRequestURI() + (query == null ? "" : "?" + query));
+		ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+		try {
+			filterChain.doFilter(request, buffered);
+		} finally {
+			timeline.finish();
+			if (!response.isCommitted()) {
+				response.setHeader(HEADER, timeline.serverTiming());
+			}
+			recorder.record(timeline);
+			buffered.copyBodyToResponse();
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package com.example.querydsl.monitoring;
+
+import java.sql.SQLException;
+
+import org.springframework.stereotype.Component;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+/* 열린 RequestTimeline 에 statement 실행 / connection 획득 시간 누적 */
+@Component
+public class RequestTimelineListener extends SimpleJdbcEventListener {
+
+	@Override
+	public void onAfterGetConnection(ConnectionInformation connectionInformation, SQLException e) {
+		RequestTimeline timeline = RequestTimeline.current();
+		if (timeline != null) {
+			timeline.connectionWait(connectionInformation.getTimeToGetConnectionNs());
+		}
+	}
+
+	@Override
+	public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+		RequestTimeline timeline = RequestTimeline.current();
+		if (timeline != null) {
+			timeline.statement(statementInformation.getSql(), timeElapsedNanos);
+		}
+	}
+}
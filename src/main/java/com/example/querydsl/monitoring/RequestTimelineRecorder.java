@@ -0,0 +1,62 @@
+package com.example.querydsl.monitoring;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * 가장 느린 요청 timeline N 개 보관 (/admin/timelines)
+ * min-heap 이라 가득 찬 뒤에는 현재 N 번째보다 빠른 요청은 lock 없이 버림
+ */
+@Component
+public class RequestTimelineRecorder {
+
+	private static final Comparator<RequestTimeline> BY_TOTAL = Comparator.comparingLong(RequestTimeline::getTotalNanos);
+
+	private final int keep;
+	private final PriorityQueue<RequestTimeline> slowest;
+	private volatile long admissionNanos;
+
+	public RequestTimelineRecorder(@Value("${monitoring.timeline.keep:20}") int keep) {
+		this.keep = Math.max(1, keep);
+		this.slowest = new PriorityQueue<>(this.keep + 1, BY_TOTAL);
+	}
+
+	public void record(RequestTimeline timeline) {
+		if (timeline.getTotalNanos() <= admissionNanos) {
+			return;
+		}
+		synchronized (slowest) {
+			slowest.add(timeline);
+			if (slowest.size() > keep) {
+				slowest.poll();
+				admissionNanos = slowest.peek().getTotalNanos();
+			}
+		}
+	}
+
+	/* 느린 순 */
+	public List<RequestTimeline.Snapshot> slowest() {
+		List<RequestTimeline> timelines;
+		synchronized (slowest) {
+			timelines = new ArrayList<>(slowest);
+		}
+		timelines.sort(BY_TOTAL.reversed());
+		List<RequestTimeline.Snapshot> result = new ArrayList<>(timelines.size());
+		for (RequestTimeline timeline : timelines) {
+			result.add(timeline.snapshot());
+		}
+		return result;
+	}
+
+	public void clear() {
+		synchronized (slowest) {
+			slowest.clear();
+			admissionNanos = 0;
+		}
+	}
+}
@@ -0,0 +1,299 @@
+package com.example.querydsl.monitoring;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.p6spy.engine.common.PreparedStatementInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 느린 select 의 sql / bind 값 / 실행 계획 자동 수집 (/admin/slow-queries)
+ * - p6spy 에서 threshold 를 넘은 select 만 후보 (repository-only 면 repository method 안에서 실행된 것만)
+ * - 부하 제한 : 표본 비율 + 분당 최대 수집 수 + 같은 sql 은 dedupe-window 동안 한 번만 + 작업 queue 가 차면 버림
+ * - explain 은 요청 thread 가 아닌 별도 worker thread 에서 별도 connection 으로 실행 (postgresql : EXPLAIN ANALYZE, h2 : EXPLAIN)
+ *   값을 문자열로 끼워 넣은 sql(sqlWithValues) 이 아니라 원래 sql 에 bind 값을 다시 bind 해서 실행
+ *   read-only transaction 안에서 실행하고 항상 rollback (EXPLAIN ANALYZE 는 query 를 실제로 실행함)
+ * - 결과는 크기가 고정된 ring buffer 에 보관 (오래된 것부터 덮어씀)
+ */
+@Slf4j
+@Component
+public class SlowQueryCapture extends SimpleJdbcEventListener implements DisposableBean {
+
+	private static final ThreadLocal<Boolean> EXPLAINING = new ThreadLocal<>();
+	/* 현재 thread 에서 실행 전 값을 bind 중인 PreparedStatement 와 그 값 (실행 후 느리면 candidate 로 복사) */
+	private static final ThreadLocal<Binds> BINDS = ThreadLocal.withInitial(Binds::new);
+
+	private final ObjectProvider<DataSource> dataSource;
+	private final long thresholdNanos;
+	private final double sampleRate;
+	private final int maxPerMinute;
+	private final long dedupeWindowMillis;
+	private final boolean repositoryOnly;
+	private final int explainTimeoutSeconds;
+
+	private final BlockingQueue<Candidate> queue;
+	private final Entry[] ring;
+	private final AtomicLong written = new AtomicLong();
+	private final ConcurrentMap<String, Long> lastCaptured = new ConcurrentHashMap<>();
+	private final Object minuteLock = new Object();
+	private long minuteStart;
+	private int capturedThisMinute;
+	private final LongAdder slow = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final Thread worker;
+
+	public SlowQueryCapture(ObjectProvider<DataSource> dataSource,
+			@Value("${monitoring.slow-query.threshold:200ms}") Duration threshold,
+			@Value("${monitoring.slow-query.sample-rate:1.0}") double sampleRate,
+			@Value("${monitoring.slow-query.max-per-minute:6}") int maxPerMinute,
+			@Value("${monitoring.slow-query.dedupe-window:5m}") Duration dedupeWindow,
+			@Value("${monitoring.slow-query.repository-only:true}") boolean repositoryOnly,
+			@Value("${monitoring.slow-query.buffer-size:50}") int bufferSize,
+			@Value("${monitoring.slow-query.explain-timeout:5s}") Duration explainTimeout) {
+		this.dataSource = dataSource;
+		this.thresholdNanos = threshold.toNanos();
+		this.sampleRate = sampleRate;
+		this.maxPerMinute = maxPerMinute;
+		this.dedupeWindowMillis = dedupeWindow.toMillis();
+		this.repositoryOnly = repositoryOnly;
+		this.explainTimeoutSeconds = (int) Math.max(1, explainTimeout.getSeconds());
+		this.queue = new ArrayBlockingQueue<>(Math.max(1, maxPerMinute));
+		this.ring = new Entry[bufferSize];
+		this.worker = new Thread(this::work, "slow-query-explain");
+		this.worker.setDaemon(true);
+		this.worker.start();
+	}
+
+	@Override
+	public void onAfterPreparedStatementSet(PreparedStatementInformation statementInformation, int parameterIndex,
+			Object value, SQLException e) {
+		if (e != null || EXPLAINING.get() != null) {
+			return;
+		}
+		Binds binds = BINDS.get();
+		if (binds.statement != statementInformation) {
+			binds.statement = statementInformation;
+			binds.values.clear();
+		}
+		binds.values.put(parameterIndex, value);
+	}
+
+	@Override
+	public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+		Binds binds = BINDS.get();
+		boolean bound = binds.statement == statementInformation;
+		binds.statement = null;
+		if (timeElapsedNanos < thresholdNanos || e != null || EXPLAINING.get() != null) {
+			return;
+		}
+		String repositoryMethod = RepositoryMetricsInterceptor.currentMethod();
+		if (repositoryOnly && repositoryMethod == null) {
+			return;
+		}
+		String sql = statementInformation.getSql();
+		if (!isSelect(sql)) {
+			return;
+		}
+		slow.increment();
+		if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		Long last = lastCaptured.get(sql);
+		if (last != null && now - last < dedupeWindowMillis) {
+			return;
+		}
+		if (!tryAcquire(now)) {
+			dropped.increment();
+			return;
+		}
+		lastCaptured.put(sql, now);
+		Map<Integer, Object> params = bound ? new TreeMap<>(binds.values) : new TreeMap<>();
+		Candidate candidate = new Candidate(Instant.ofEpochMilli(now), repositoryMethod, sql,
+				statementInformation.getSqlWithValues(), params, TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos));
+		if (!queue.offer(candidate)) {
+			dropped.increment();
+		}
+	}
+
+	private boolean tryAcquire(long now) {
+		synchronized (minuteLock) {
+			if (now - minuteStart >= 60_000) {
+				minuteStart = now;
+				capturedThisMinute = 0;
+			}
+			if (capturedThisMinute >= maxPerMinute) {
+				return false;
+			}
+			capturedThisMinute++;
+			return true;
+		}
+	}
+
+	private void work() {
+		EXPLAINING.set(Boolean.TRUE);
+		while (!Thread.currentThread().isInterrupted()) {
+			Candidate candidate;
+			try {
+				candidate = queue.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			String plan;
+			try {
+				plan = explain(candidate.sql, candidate.params);
+			} catch (SQLException | RuntimeException e) {
+				plan = "explain failed: " + e;
+			}
+			add(new Entry(candidate.capturedAt, candidate.repositoryMethod, candidate.elapsedMillis, candidate.sql,
+					candidate.sqlWithValues, plan));
+			if (lastCaptured.size() > 10_000) {
+				lastCaptured.clear();
+			}
+		}
+	}
+
+	private String explain(String sql, Map<Integer, Object> params) throws SQLException {
+		try (Connection connection = dataSource.getObject().getConnection()) {
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			connection.setReadOnly(true);
+			try {
+				String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+				String prefix = product.contains("postgresql") ? "explain (analyze, buffers) " : "explain ";
+				try (PreparedStatement statement = connection.prepareStatement(prefix + sql)) {
+					statement.setQueryTimeout(explainTimeoutSeconds);
+					for (Map.Entry<Integer, Object> param : params.entrySet()) {
+						if (param.getValue() == null) {
+							statement.setNull(param.getKey(), Types.NULL);
+						} else {
+							statement.setObject(param.getKey(), param.getValue());
+						}
+					}
+					StringBuilder plan = new StringBuilder();
+					try (ResultSet rs = statement.executeQuery()) {
+						while (rs.next()) {
+							if (plan.length() > 0) {
+								plan.append('\n');
+							}
+							plan.append(rs.getString(1));
+						}
+					}
+					return plan.toString();
+				}
+			} finally {
+				connection.rollback();
+				connection.setReadOnly(false);
+				connection.setAutoCommit(autoCommit);
+			}
+		}
+	}
+
+	private void add(Entry entry) {
+		long index = written.getAndIncrement();
+		synchronized (ring) {
+			ring[(int) (index % ring.length)] = entry;
+		}
+	}
+
+	/* 최근 것부터 */
+	public Snapshot snapshot() {
+		List<Entry> entries = new ArrayList<>();
+		synchronized (ring) {
+			long total = written.get();
+			for (long i = total - 1; i >= 0 && i >= total - ring.length; i--) {
+				Entry entry = ring[(int) (i % ring.length)];
+				if (entry != null) {
+					entries.add(entry);
+				}
+			}
+		}
+		return new Snapshot(slow.sum(), dropped.sum(), entries);
+	}
+
+	public void clear() {
+		synchronized (ring) {
+			Arrays.fill(ring, null);
+		}
+		lastCaptured.clear();
+	}
+
+	static boolean isSelect(String sql) {
+		if (sql == null) {
+			return false;
+		}
+		String trimmed = sql.trim();
+		return trimmed.regionMatches(true, 0, "select", 0, 6) || trimmed.regionMatches(true, 0, "with", 0, 4);
+	}
+
+	@Override
+	public void destroy() {
+		worker.interrupt();
+	}
+
+	@RequiredArgsConstructor
+	private static class Candidate {
+		private final Instant capturedAt;
+		private final String repositoryMethod;
+		private final String sql;
+		private final String sqlWithValues;
+		private final Map<Integer, Object> params;
+		private final long elapsedMillis;
+	}
+
+	private static class Binds {
+		private StatementInformation statement;
+		private final Map<Integer, Object> values = new TreeMap<>();
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Entry {
+		private final Instant capturedAt;
+		private final String repositoryMethod;
+		private final long elapsedMillis;
+		private final String sql;
+		private final String sqlWithValues;
+		private final String plan;
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Snapshot {
+		private final long slowQueries;
+		private final long dropped;
+		private final List<Entry> captured;
+	}
+}
@@ -0,0 +1,220 @@
+package com.example.querydsl.monitoring;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.hibernate.engine.jdbc.internal.FormatStyle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.p6spy.engine.common.PreparedStatementInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.common.Value;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+/*
+ * p6spy 로그 / org.hibernate.SQL debug 를 대신하는 sql 로그
+ * - 요청 thread : bind 값을 thread 별 map 에 모아 두고(SlowQueryCapture 와 같은 방식), 실행 후 기록 대상인지 판단(난수 / 경과 시간 비교)
+ *   대상이면 원래 sql 과 bind 값 복사본만 lock-free queue 에 넣음 (getSqlWithValues 는 호출하지 않음)
+ * - bind 값 치환 / 로그 문자열 조립 / format-sql 정렬 / logger 호출은 writer thread 에서
+ * - writer thread 는 bean 초기화(afterPropertiesSet) 때 시작
+ * - queue 가 차면 버리고 개수만 셈 (요청 thread 는 기다리지 않음)
+ * logger 이름 : sql (logging.level.sql 로 조절)
+ */
+@Component
+public class SqlLogListener extends SimpleJdbcEventListener implements InitializingBean, DisposableBean {
+
+	private static final Logger SQL_LOG = LoggerFactory.getLogger("sql");
+	/* 현재 thread 에서 실행 전 값을 bind 중인 PreparedStatement 와 그 값 */
+	private static final ThreadLocal<Binds> BINDS = ThreadLocal.withInitial(Binds::new);
+
+	private final SqlLogMode mode;
+	private final int sampleEvery;
+	private final long slowThresholdNanos;
+	private final boolean formatSql;
+	private final int queueCapacity;
+
+	private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger queued = new AtomicInteger();
+	private final LongAdder dropped = new LongAdder();
+	private Thread writer;
+	private volatile boolean running = true;
+
+	public SqlLogListener(@Value("${monitoring.sql-log.mode:sampled}") SqlLogMode mode,
+			@Value("${monitoring.sql-log.sample-every:100}") int sampleEvery,
+			@Value("${monitoring.sql-log.slow-threshold:100ms}") Duration slowThreshold,
+			@Value("${monitoring.sql-log.format-sql:false}") boolean formatSql,
+			@Value("${monitoring.sql-log.queue-capacity:1024}") int queueCapacity) {
+		this.mode = mode;
+		this.sampleEvery = Math.max(1, sampleEvery);
+		this.slowThresholdNanos = slowThreshold.toNanos();
+		this.formatSql = formatSql;
+		this.queueCapacity = queueCapacity;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (mode != SqlLogMode.OFF) {
+			writer = new Thread(this::write, "sql-log-writer");
+			writer.setDaemon(true);
+			writer.start();
+		}
+	}
+
+	@Override
+	public void onAfterPreparedStatementSet(PreparedStatementInformation statementInformation, int parameterIndex,
+			Object value, SQLException e) {
+		if (e != null || mode == SqlLogMode.OFF) {
+			return;
+		}
+		Binds binds = BINDS.get();
+		if (binds.statement != statementInformation) {
+			binds.statement = statementInformation;
+			binds.values.clear();
+		}
+		binds.values.put(parameterIndex, value);
+	}
+
+	@Override
+	public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+		Binds binds = BINDS.get();
+		boolean bound = binds.statement == statementInformation;
+		binds.statement = null;
+		if (!selected(timeElapsedNanos, e) || !SQL_LOG.isInfoEnabled()) {
+			return;
+		}
+		if (queued.incrementAndGet() > queueCapacity) {
+			queued.decrementAndGet();
+			dropped.increment();
+			return;
+		}
+		Map<Integer, Object> params = bound ? new TreeMap<>(binds.values) : Collections.emptyMap();
+		queue.offer(new Entry(statementInformation.getSql(), params, timeElapsedNanos,
+				statementInformation.getConnectionInformation().getConnectionId(), RepositoryMetricsInterceptor.currentMethod(),
+				e != null, timeElapsedNanos >= slowThresholdNanos));
+	}
+
+	private boolean selected(long timeElapsedNanos, SQLException e) {
+		switch (mode) {
+		case ALL:
+			return true;
+		case SAMPLED:
+			return e != null || timeElapsedNanos >= slowThresholdNanos
+					|| ThreadLocalRandom.current().nextInt(sampleEvery) == 0;
+		case SLOW:
+			return e != null || timeElapsedNanos >= slowThresholdNanos;
+		default:
+			return false;
+		}
+	}
+
+	/* queue 가 비면 잠깐 park (요청 thread 가 unpark 하지 않도록 polling) */
+	private void write() {
+		long reportedDrops = 0;
+		while (running || !queue.isEmpty()) {
+			Entry entry = queue.poll();
+			if (entry == null) {
+				long drops = dropped.sum();
+				if (drops > reportedDrops) {
+					SQL_LOG.warn("sql log queue full, {} statements dropped", drops - reportedDrops);
+					reportedDrops = drops;
+				}
+				LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+				continue;
+			}
+			queued.decrementAndGet();
+			emit(entry);
+		}
+	}
+
+	private void emit(Entry entry) {
+		String sqlWithValues = render(entry.sql, entry.params);
+		String sql = formatSql ? FormatStyle.BASIC.getFormatter().format(sqlWithValues) : sqlWithValues;
+		long millis = TimeUnit.NANOSECONDS.toMillis(entry.elapsedNanos);
+		String tag = entry.failed ? "failed" : entry.slow ? "slow" : "sampled";
+		if (entry.repositoryMethod == null) {
+			SQL_LOG.info("[{}] {}ms connection={} {}", tag, millis, entry.connectionId, sql);
+		} else {
+			SQL_LOG.info("[{}] {}ms connection={} {} {}", tag, millis, entry.connectionId, entry.repositoryMethod, sql);
+		}
+	}
+
+	/* 문자열 literal 밖의 ? 를 bind 값으로 치환 (p6spy getSqlWithValues 와 같은 값 형식) */
+	private static String render(String sql, Map<Integer, Object> params) {
+		if (sql == null || params.isEmpty()) {
+			return sql;
+		}
+		StringBuilder rendered = new StringBuilder(sql.length() + params.size() * 8);
+		boolean inQuote = false;
+		int index = 0;
+		for (int i = 0; i < sql.length(); i++) {
+			char c = sql.charAt(i);
+			if (c == '\'') {
+				inQuote = !inQuote;
+			}
+			if (c == '?' && !inQuote) {
+				rendered.append(new Value(params.get(++index)));
+			} else {
+				rendered.append(c);
+			}
+		}
+		return rendered.toString();
+	}
+
+	public long getDropped() {
+		return dropped.sum();
+	}
+
+	/* writer thread 가 아직 처리하지 않은 건수 */
+	public int getQueued() {
+		return queued.get();
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		running = false;
+		if (writer != null) {
+			writer.join(TimeUnit.SECONDS.toMillis(1));
+		}
+	}
+
+	private static class Binds {
+		private StatementInformation statement;
+		private final Map<Integer, Object> values = new TreeMap<>();
+	}
+
+	private static final class Entry {
+		private final String sql;
+		private final Map<Integer, Object> params;
+		private final long elapsedNanos;
+		private final int connectionId;
+		private final String repositoryMethod;
+		private final boolean failed;
+		private final boolean slow;
+
+		private Entry(String sql, Map<Integer, Object> params, long elapsedNanos, int connectionId,
+				String repositoryMethod, boolean failed, boolean slow) {
+			this.sql = sql;
+			this.params = params;
+			this.elapsedNanos = elapsedNanos;
+			this.connectionId = connectionId;
+			this.repositoryMethod = repositoryMethod;
+			this.failed = failed;
+			this.slow = slow;
+		}
+	}
+}
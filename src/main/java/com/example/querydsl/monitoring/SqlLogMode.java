@@ -0,0 +1,13 @@
+package com.example.querydsl.monitoring;
+
+/* SqlLogListener 기록 대상 */
+public enum SqlLogMode {
+	/* 기록 안 함 */
+	OFF,
+	/* sample-every 개 중 1 개 + slow-threshold 를 넘은 것 */
+	SAMPLED,
+	/* slow-threshold 를 넘은 것만 */
+	SLOW,
+	/* 전부 (개발용) */
+	ALL
+}
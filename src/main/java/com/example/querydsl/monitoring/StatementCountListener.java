@@ -0,0 +1,67 @@
+package com.example.querydsl.monitoring;
+
+import java.sql.SQLException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * N+1 감지
+ * 열린 StatementScope(요청 단위는 StatementScopeFilter)가 없으면 현재 transaction 단위 scope 를 열고 완료 시 보고
+ * 같은 sql 이 repeat-threshold 번 이상 실행되면 호출 위치와 함께 warn 로그
+ */
+@Slf4j
+@Component
+public class StatementCountListener extends SimpleJdbcEventListener {
+
+	private final int repeatThreshold;
+
+	public StatementCountListener(@Value("${monitoring.statements.repeat-threshold:3}") int repeatThreshold) {
+		this.repeatThreshold = repeatThreshold;
+	}
+
+	@Override
+	public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+		StatementScope scope = StatementScope.current();
+		if (scope == null) {
+			scope = openTransactionScope();
+			if (scope == null) {
+				return;
+			}
+		}
+		scope.record(statementInformation.getSql());
+	}
+
+	public void report(StatementScope scope) {
+		if (!log.isWarnEnabled()) {
+			return;
+		}
+		for (StatementScope.Statement statement : scope.repeated(repeatThreshold)) {
+			log.warn("N+1 suspected in [{}]: {} executions of [{}] at {} ({} statements in scope)", scope.getName(),
+					statement.getCount(), statement.getSql(), statement.getCallSite(), scope.getCount());
+		}
+	}
+
+	private StatementScope openTransactionScope() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return null;
+		}
+		String name = TransactionSynchronizationManager.getCurrentTransactionName();
+		StatementScope scope = StatementScope.open("tx " + (name != null ? name : "anonymous"));
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				scope.close();
+				report(scope);
+			}
+		});
+		return scope;
+	}
+}
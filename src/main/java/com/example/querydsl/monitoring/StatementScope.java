@@ -0,0 +1,127 @@
+package com.example.querydsl.monitoring;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+
+/*
+ * 요청 / transaction / 테스트 구간 단위 jdbc statement 집계 (thread 에 묶임)
+ * 같은 sql(파라미터 바인딩 전 문자열)이 반복되면 N+1 의심 => 처음 반복된 시점의 호출 위치 기록
+ * scope 는 중첩 가능, statement 는 열린 scope 전부에 집계
+ */
+public final class StatementScope implements AutoCloseable {
+
+	private static final ThreadLocal<StatementScope> CURRENT = new ThreadLocal<>();
+	private static final int MAX_DISTINCT_STATEMENTS = 256;
+	private static final String APPLICATION_PACKAGE = "com.example.querydsl.";
+	private static final String MONITORING_PACKAGE = StatementScope.class.getPackage().getName() + ".";
+
+	private final String name;
+	private final StatementScope parent;
+	private final Map<String, Statement> statements = new HashMap<>();
+	private long count;
+	private boolean closed;
+
+	private StatementScope(String name, StatementScope parent) {
+		this.name = name;
+		this.parent = parent;
+	}
+
+	public static StatementScope open(String name) {
+		StatementScope scope = new StatementScope(name, CURRENT.get());
+		CURRENT.set(scope);
+		return scope;
+	}
+
+	public static StatementScope current() {
+		return CURRENT.get();
+	}
+
+	void record(String sql) {
+		String callSite = null;
+		for (StatementScope scope = this; scope != null; scope = scope.parent) {
+			callSite = scope.add(sql, callSite);
+		}
+	}
+
+	private String add(String sql, String callSite) {
+		count++;
+		if (sql == null) {
+			return callSite;
+		}
+		Statement statement = statements.get(sql);
+		if (statement == null) {
+			if (statements.size() < MAX_DISTINCT_STATEMENTS) {
+				statements.put(sql, new Statement(sql));
+			}
+			return callSite;
+		}
+		statement.count++;
+		if (statement.callSite == null) {
+			/* stack trace 는 반복이 처음 확인된 statement 에서만 생성 */
+			statement.callSite = callSite != null ? callSite : callSite();
+		}
+		return statement.callSite;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	/* threshold 번 이상 실행된 sql, 많이 실행된 순 */
+	public List<Statement> repeated(int threshold) {
+		List<Statement> result = new ArrayList<>();
+		for (Statement statement : statements.values()) {
+			if (statement.count >= threshold) {
+				result.add(statement);
+			}
+		}
+		result.sort(Comparator.comparingLong(Statement::getCount).reversed());
+		return result;
+	}
+
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		if (CURRENT.get() == this) {
+			if (parent == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(parent);
+			}
+		}
+	}
+
+	private static String callSite() {
+		for (StackTraceElement frame : new Throwable().getStackTrace()) {
+			String className = frame.getClassName();
+			if (className.startsWith(APPLICATION_PACKAGE) && !className.startsWith(MONITORING_PACKAGE)
+					&& !className.contains("$$") && !className.contains("$HibernateProxy$")) {
+				return frame.toString();
+			}
+		}
+		return "unknown";
+	}
+
+	@Getter
+	public static class Statement {
+		private final String sql;
+		private long count = 1;
+		private String callSite;
+
+		Statement(String sql) {
+			this.sql = sql;
+		}
+	}
+}
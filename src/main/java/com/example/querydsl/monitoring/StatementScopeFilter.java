@@ -0,0 +1,33 @@
+package com.example.querydsl.monitoring;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import lombok.RequiredArgsConstructor;
+
+/* http 요청 단위 StatementScope (요청 안의 여러 transaction 을 합쳐서 N+1 판단) */
+@Component
+@RequiredArgsConstructor
+public class StatementScopeFilter extends OncePerRequestFilter {
+
+	private final StatementCountListener statementCountListener;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		StatementScope scope = StatementScope.open(request.getMethod() + " " + request.getRequestURI());
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			scope.close();
+			statementCountListener.report(scope);
+		}
+	}
+}
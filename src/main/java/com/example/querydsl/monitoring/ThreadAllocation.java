@@ -0,0 +1,44 @@
+package com.example.querydsl.monitoring;
+
+import java.lang.management.ManagementFactory;
+
+import com.example.querydsl.config.VirtualThreads;
+
+/*
+ * 현재 thread 가 지금까지 할당한 byte 누계 (com.sun.management.ThreadMXBean)
+ * 측정 구간 전후 값의 차이로 사용, 지원하지 않는 JVM 이거나 virtual thread 이면 -1
+ */
+public final class ThreadAllocation {
+
+	private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+	private ThreadAllocation() {
+	}
+
+	private static com.sun.management.ThreadMXBean threads() {
+		java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+			return null;
+		}
+		com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+		if (!sunThreads.isThreadAllocatedMemorySupported()) {
+			return null;
+		}
+		if (!sunThreads.isThreadAllocatedMemoryEnabled()) {
+			sunThreads.setThreadAllocatedMemoryEnabled(true);
+		}
+		return sunThreads;
+	}
+
+	public static boolean isSupported() {
+		return THREADS != null;
+	}
+
+	public static long currentBytes() {
+		Thread thread = Thread.currentThread();
+		if (THREADS == null || VirtualThreads.isVirtual(thread)) {
+			return -1;
+		}
+		return THREADS.getThreadAllocatedBytes(thread.getId());
+	}
+}
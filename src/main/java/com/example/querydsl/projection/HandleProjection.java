@@ -0,0 +1,43 @@
+package com.example.querydsl.projection;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpressionBase;
+import com.querydsl.core.types.Visitor;
+
+/*
+ * MethodHandle 기반 dto FactoryExpression
+ * accessor 는 ProjectionAccessors cache 에서 (dto class, 방식, alias/type 목록) 단위로 한 번만 생성
+ */
+class HandleProjection<T> extends FactoryExpressionBase<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<Expression<?>> args;
+	private final transient ProjectionAccessors accessors;
+
+	HandleProjection(Class<? extends T> type, ProjectionAccessors.Kind kind, Expression<?>... exprs) {
+		super(type);
+		this.args = Collections.unmodifiableList(Arrays.asList(exprs));
+		this.accessors = ProjectionAccessors.of(type, kind, exprs);
+	}
+
+	@Override
+	public List<Expression<?>> getArgs() {
+		return args;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T newInstance(Object... values) {
+		return (T) accessors.newInstance(values);
+	}
+
+	@Override
+	public <R, C> R accept(Visitor<R, C> v, C context) {
+		return v.visit(this, context);
+	}
+}
@@ -0,0 +1,188 @@
+package com.example.querydsl.projection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * dto 생성 / 값 주입용 MethodHandle 묶음
+ * handle 은 모두 (Object...) 형태로 맞춰 두어 row 마다 type 검사 없이 invokeExact
+ */
+final class ProjectionAccessors {
+
+	enum Kind {
+		BEAN, FIELDS, CONSTRUCTOR
+	}
+
+	private static final MethodType FACTORY = MethodType.methodType(Object.class);
+	private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+	private static final MethodType SPREAD_FACTORY = MethodType.methodType(Object.class, Object[].class);
+
+	private static final ConcurrentMap<Key, ProjectionAccessors> CACHE = new ConcurrentHashMap<>();
+
+	private final MethodHandle factory;
+	private final MethodHandle[] setters;
+	private final boolean[] primitive;
+
+	private ProjectionAccessors(MethodHandle factory, MethodHandle[] setters, boolean[] primitive) {
+		this.factory = factory;
+		this.setters = setters;
+		this.primitive = primitive;
+	}
+
+	static ProjectionAccessors of(Class<?> type, Kind kind, Expression<?>... exprs) {
+		List<Object> signature = new ArrayList<>(exprs.length);
+		for (Expression<?> expr : exprs) {
+			signature.add(kind == Kind.CONSTRUCTOR ? expr.getType() : propertyName(expr));
+		}
+		return CACHE.computeIfAbsent(new Key(type, kind, signature), key -> create(type, kind, exprs));
+	}
+
+	Object newInstance(Object[] values) {
+		try {
+			if (setters == null) {
+				return factory.invokeExact(values);
+			}
+			Object bean = factory.invokeExact();
+			for (int i = 0; i < setters.length; i++) {
+				Object value = values[i];
+				// primitive 에 null 은 넣을 수 없으므로 기본값 유지
+				if (value != null || !primitive[i]) {
+					setters[i].invokeExact(bean, value);
+				}
+			}
+			return bean;
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static ProjectionAccessors create(Class<?> type, Kind kind, Expression<?>... exprs) {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			if (kind == Kind.CONSTRUCTOR) {
+				Class<?>[] parameterTypes = new Class<?>[exprs.length];
+				for (int i = 0; i < exprs.length; i++) {
+					parameterTypes[i] = exprs[i].getType();
+				}
+				MethodHandle constructor = lookup.unreflectConstructor(findConstructor(type, parameterTypes))
+						.asSpreader(Object[].class, exprs.length).asType(SPREAD_FACTORY);
+				return new ProjectionAccessors(constructor, null, null);
+			}
+
+			MethodHandle factory = lookup.unreflectConstructor(accessible(type.getDeclaredConstructor()))
+					.asType(FACTORY);
+			MethodHandle[] setters = new MethodHandle[exprs.length];
+			boolean[] primitive = new boolean[exprs.length];
+			for (int i = 0; i < exprs.length; i++) {
+				String name = propertyName(exprs[i]);
+				MethodHandle setter;
+				if (kind == Kind.BEAN) {
+					Method method = findSetter(type, name);
+					primitive[i] = method.getParameterTypes()[0].isPrimitive();
+					setter = lookup.unreflect(method);
+				} else {
+					Field field = findField(type, name);
+					primitive[i] = field.getType().isPrimitive();
+					setter = lookup.unreflectSetter(accessible(field));
+				}
+				setters[i] = setter.asType(SETTER);
+			}
+			return new ProjectionAccessors(factory, setters, primitive);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalArgumentException("cannot create projection for " + type.getName(), e);
+		}
+	}
+
+	/* QBean 과 같은 규칙 : path 는 property 이름, alias 는 alias 이름 */
+	private static String propertyName(Expression<?> expr) {
+		if (expr instanceof Path) {
+			return ((Path<?>) expr).getMetadata().getName();
+		}
+		if (expr instanceof Operation && ((Operation<?>) expr).getOperator() == Ops.ALIAS) {
+			Expression<?> alias = ((Operation<?>) expr).getArg(1);
+			if (alias instanceof Path) {
+				return ((Path<?>) alias).getMetadata().getName();
+			}
+		}
+		throw new IllegalArgumentException("unsupported expression, use path or alias : " + expr);
+	}
+
+	private static Method findSetter(Class<?> type, String name) throws NoSuchMethodException {
+		String setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+		for (Method method : type.getMethods()) {
+			if (method.getName().equals(setterName) && method.getParameterCount() == 1
+					&& !Modifier.isStatic(method.getModifiers())) {
+				return method;
+			}
+		}
+		throw new NoSuchMethodException(type.getName() + "." + setterName);
+	}
+
+	private static Field findField(Class<?> type, String name) throws NoSuchFieldException {
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+			try {
+				return current.getDeclaredField(name);
+			} catch (NoSuchFieldException e) {
+				// 상위 class 에서 계속 탐색
+			}
+		}
+		throw new NoSuchFieldException(type.getName() + "." + name);
+	}
+
+	/* querydsl 은 int / Integer 를 같은 type 으로 취급하므로 boxing 차이는 허용 */
+	private static Constructor<?> findConstructor(Class<?> type, Class<?>[] argTypes)
+			throws NoSuchMethodException {
+		for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+			Class<?>[] parameterTypes = constructor.getParameterTypes();
+			if (parameterTypes.length != argTypes.length) {
+				continue;
+			}
+			boolean matches = true;
+			for (int i = 0; i < parameterTypes.length && matches; i++) {
+				matches = wrap(parameterTypes[i]).isAssignableFrom(wrap(argTypes[i]));
+			}
+			if (matches) {
+				return accessible(constructor);
+			}
+		}
+		throw new NoSuchMethodException(type.getName() + ".<init>" + Arrays.toString(argTypes));
+	}
+
+	private static Class<?> wrap(Class<?> type) {
+		return MethodType.methodType(type).wrap().returnType();
+	}
+
+	private static <A extends AccessibleObject> A accessible(A member) {
+		member.setAccessible(true);
+		return member;
+	}
+
+	@EqualsAndHashCode
+	@RequiredArgsConstructor
+	private static final class Key {
+		private final Class<?> type;
+		private final Kind kind;
+		private final List<Object> signature;
+	}
+}
@@ -0,0 +1,11 @@
+package com.example.querydsl.repository;
+
+/*
+ * paging total count 계산 방식
+ * EXACT   : count query 실행 (기본)
+ * PLANNER : db planner 의 예상 row 수 사용 (PostgreSQL EXPLAIN), 지원하지 않는 db 는 SAMPLED 로 대체
+ * SAMPLED : id 순 앞쪽 sample 구간의 조건 일치 비율 * 테이블 예상 row 수
+ */
+public enum CountMode {
+	EXACT, PLANNER, SAMPLED
+}
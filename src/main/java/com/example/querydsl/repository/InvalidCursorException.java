@@ -0,0 +1,11 @@
+package com.example.querydsl.repository;
+
+/* client 가 보낸 keyset paging cursor 를 해석할 수 없음 (변조, 잘림 등) => 400 */
+public class InvalidCursorException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	InvalidCursorException(String cursor, Throwable cause) {
+		super("invalid cursor: " + cursor, cause);
+	}
+}
@@ -0,0 +1,64 @@
+package com.example.querydsl.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.util.StringUtils;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+
+/*
+ * MemberSearchCondition 중 값이 있는 field 조합을 bit mask 로 표현 (4 field => 16 가지)
+ * 값이 있다의 기준은 querydsl predicate 와 동일 (문자열은 hasText, 숫자는 not null)
+ */
+public final class MemberConditionMask {
+
+	public static final int USERNAME = 1;
+	public static final int TEAM_NAME = 1 << 1;
+	public static final int AGE_GOE = 1 << 2;
+	public static final int AGE_LOE = 1 << 3;
+
+	public static final int COMBINATIONS = 1 << 4;
+
+	private MemberConditionMask() {
+	}
+
+	public static int of(MemberSearchCondition condition) {
+		int mask = 0;
+		if (StringUtils.hasText(condition.getUserName())) {
+			mask |= USERNAME;
+		}
+		if (StringUtils.hasText(condition.getTeamName())) {
+			mask |= TEAM_NAME;
+		}
+		if (condition.getAgeGoe() != null) {
+			mask |= AGE_GOE;
+		}
+		if (condition.getAgeLoe() != null) {
+			mask |= AGE_LOE;
+		}
+		return mask;
+	}
+
+	public static boolean has(int mask, int field) {
+		return (mask & field) != 0;
+	}
+
+	/* ex) "userName+ageGoe", 조건이 없으면 "none" */
+	public static String describe(int mask) {
+		List<String> fields = new ArrayList<>();
+		if (has(mask, USERNAME)) {
+			fields.add("userName");
+		}
+		if (has(mask, TEAM_NAME)) {
+			fields.add("teamName");
+		}
+		if (has(mask, AGE_GOE)) {
+			fields.add("ageGoe");
+		}
+		if (has(mask, AGE_LOE)) {
+			fields.add("ageLoe");
+		}
+		return fields.isEmpty() ? "none" : String.join("+", fields);
+	}
+}
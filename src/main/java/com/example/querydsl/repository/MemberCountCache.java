@@ -0,0 +1,157 @@
+package com.example.querydsl.repository;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * paging count query 결과 cache
+ * 같은 검색 조건이면 page 를 넘겨도 total count 는 거의 바뀌지 않으므로 ttl 동안 재사용
+ * - 조건을 정규화(공백 문자열 = 조건 없음)한 값을 key 로 사용
+ * - max-size 를 넘으면 가장 오래 안 쓰인 key 부터 제거(LRU)
+ * - member/team 테이블에 쓰기가 발생하면 전체 invalidate (MemberCountCacheInvalidator)
+ */
+@Component
+public class MemberCountCache {
+
+	private final int maxSize;
+	private final long ttlNanos;
+	private final Map<Key, Entry> entries;
+
+	private final AtomicLong generation = new AtomicLong();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong invalidations = new AtomicLong();
+
+	public MemberCountCache(@Value("${member.search.count-cache.max-size:1000}") int maxSize,
+			@Value("${member.search.count-cache.ttl:30s}") Duration ttl) {
+		this.maxSize = maxSize;
+		this.ttlNanos = ttl.toNanos();
+		this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return size() > MemberCountCache.this.maxSize;
+			}
+		};
+	}
+
+	public long get(MemberSearchCondition condition, LongSupplier countQuery) {
+		Key key = Key.of(condition);
+		long now = System.nanoTime();
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+			if (entry != null && now - entry.loadedAt < ttlNanos) {
+				hits.incrementAndGet();
+				return entry.count;
+			}
+		}
+		misses.incrementAndGet();
+		// count query 는 lock 밖에서 실행, 실행 도중 invalidate 되었으면 결과를 저장하지 않음
+		long loadGeneration = generation.get();
+		long count = countQuery.getAsLong();
+		synchronized (entries) {
+			if (generation.get() == loadGeneration) {
+				entries.put(key, new Entry(count, now));
+			}
+		}
+		return count;
+	}
+
+	/* ttl 안의 cache 값만 조회 (없으면 count query 를 실행하지 않고 empty) */
+	public OptionalLong peek(MemberSearchCondition condition) {
+		Key key = Key.of(condition);
+		long now = System.nanoTime();
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+			if (entry != null && now - entry.loadedAt < ttlNanos) {
+				hits.incrementAndGet();
+				return OptionalLong.of(entry.count);
+			}
+		}
+		return OptionalLong.empty();
+	}
+
+	/* put 전에 읽어 두면 그 사이 invalidate 여부를 알 수 있음 */
+	public long generation() {
+		return generation.get();
+	}
+
+	/* 직접 계산한 count 저장 (loadGeneration 이후 invalidate 되었으면 저장하지 않음) */
+	public void put(MemberSearchCondition condition, long count, long loadGeneration) {
+		Key key = Key.of(condition);
+		long now = System.nanoTime();
+		synchronized (entries) {
+			if (generation.get() == loadGeneration) {
+				entries.put(key, new Entry(count, now));
+			}
+		}
+	}
+
+	public void invalidateAll() {
+		synchronized (entries) {
+			generation.incrementAndGet();
+			entries.clear();
+		}
+		invalidations.incrementAndGet();
+	}
+
+	public Stats stats() {
+		int size;
+		synchronized (entries) {
+			size = entries.size();
+		}
+		return new Stats(size, maxSize, hits.get(), misses.get(), invalidations.get());
+	}
+
+	@EqualsAndHashCode
+	@RequiredArgsConstructor
+	static final class Key {
+		private final String userName;
+		private final String teamName;
+		private final Integer ageGoe;
+		private final Integer ageLoe;
+
+		static Key of(MemberSearchCondition condition) {
+			return new Key(normalize(condition.getUserName()), normalize(condition.getTeamName()),
+					condition.getAgeGoe(), condition.getAgeLoe());
+		}
+
+		private static String normalize(String value) {
+			return StringUtils.hasText(value) ? value : null;
+		}
+	}
+
+	@RequiredArgsConstructor
+	private static class Entry {
+		private final long count;
+		private final long loadedAt;
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Stats {
+		private final int size;
+		private final int maxSize;
+		private final long hits;
+		private final long misses;
+		private final long invalidations;
+
+		public double getHitRatio() {
+			long total = hits + misses;
+			return total == 0 ? 0 : (double) hits / total;
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.example.querydsl.repository;
+
+import java.sql.SQLException;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+ * member/team 테이블 쓰기 감지 => count cache invalidate
+ * em.persist / spring data save* / querydsl bulk update, delete 모두 결국 jdbc statement 로 나가므로
+ * p6spy 단(JdbcEventListener bean 은 p6spy starter 가 자동 등록)에서 한 번에 감지
+ * - statement 실행 시점에 바로 invalidate (transaction 밖의 쓰기)
+ * - transaction 안이면 commit 전까지 다른 요청이 이전 count 를 다시 cache 할 수 있으므로 afterCommit 에서 한 번 더
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberCountCacheInvalidator extends SimpleJdbcEventListener {
+
+	private static final Pattern MEMBER_WRITE = Pattern.compile(
+			"^\\s*(?:insert\\s+into|update|delete\\s+from|delete|merge\\s+into)\\s+(?:\\w+\\.)?\"?(?:member|team)\\b",
+			Pattern.CASE_INSENSITIVE);
+
+	private final MemberCountCache countCache;
+
+	@Override
+	public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+		if (e == null && isMemberWrite(statementInformation.getSql())) {
+			countCache.invalidateAll();
+			invalidateAfterCommit();
+		}
+	}
+
+	/* transaction 당 synchronization 하나만 등록 */
+	private void invalidateAfterCommit() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()
+				|| TransactionSynchronizationManager.hasResource(this)) {
+			return;
+		}
+		TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				countCache.invalidateAll();
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(MemberCountCacheInvalidator.this);
+			}
+		});
+	}
+
+	static boolean isMemberWrite(String sql) {
+		return sql != null && MEMBER_WRITE.matcher(sql).find();
+	}
+}
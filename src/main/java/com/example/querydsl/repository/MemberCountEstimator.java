@@ -0,0 +1,112 @@
+package com.example.querydsl.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+
+/*
+ * 대략적인 total count 계산 (CountMode.PLANNER / SAMPLED)
+ * 정확한 count(*) 대신 db 통계를 이용하므로 결과는 추정치
+ * 추정할 수 없는 경우(통계 없음, sample 보다 작은 테이블 등) empty 를 반환 => 호출하는 쪽에서 exact count 로 대체
+ */
+@Component
+public class MemberCountEstimator {
+
+	private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+	private final JdbcTemplate jdbcTemplate;
+	private final int sampleSize;
+	private volatile String databaseProduct;
+
+	public MemberCountEstimator(JdbcTemplate jdbcTemplate,
+			@Value("${member.search.count-estimate.sample-size:10000}") int sampleSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.sampleSize = sampleSize;
+	}
+
+	public OptionalLong estimate(MemberSearchCondition condition, CountMode mode) {
+		MemberNativeFilter filter = MemberNativeFilter.of(condition);
+		try {
+			if (mode == CountMode.PLANNER && isPostgres()) {
+				return plannerEstimate(filter);
+			}
+			return sampledEstimate(filter);
+		} catch (DataAccessException e) {
+			return OptionalLong.empty();
+		}
+	}
+
+	/* left join 은 count 를 바꾸지 않으므로 team 조건이 있을 때만 join */
+	private static String from(MemberNativeFilter filter) {
+		return filter.isTeamReferenced()
+				? " from member m left outer join team t on m.team_id = t.team_id"
+				: " from member m";
+	}
+
+	/* EXPLAIN 첫 줄(최상위 plan node)의 rows=N */
+	private OptionalLong plannerEstimate(MemberNativeFilter filter) {
+		List<String> plan = jdbcTemplate.queryForList("explain select 1" + from(filter) + filter.where(),
+				String.class, filter.params().toArray());
+		if (plan.isEmpty()) {
+			return OptionalLong.empty();
+		}
+		Matcher matcher = PLAN_ROWS.matcher(plan.get(0));
+		return matcher.find() ? OptionalLong.of(Long.parseLong(matcher.group(1))) : OptionalLong.empty();
+	}
+
+	/*
+	 * id 순으로 앞쪽 sampleSize 건 구간에서 조건 일치 건수를 세고 테이블 전체 예상 row 수로 확대
+	 * 오래된(id 가 작은) member 위주의 sample 이므로 분포가 시간에 따라 크게 바뀌는 데이터에는 오차가 커짐
+	 */
+	private OptionalLong sampledEstimate(MemberNativeFilter filter) {
+		if (filter.isEmpty()) {
+			return tableRowEstimate();
+		}
+		List<Long> boundary = jdbcTemplate.queryForList(
+				"select m.member_id from member m order by m.member_id limit 1 offset ?", Long.class, sampleSize - 1);
+		if (boundary.isEmpty()) {
+			// sample 보다 작은 테이블 => exact count 도 충분히 저렴
+			return OptionalLong.empty();
+		}
+		OptionalLong tableRows = tableRowEstimate();
+		if (!tableRows.isPresent()) {
+			return OptionalLong.empty();
+		}
+		List<Object> params = new ArrayList<>(filter.params());
+		params.add(boundary.get(0));
+		Long matched = jdbcTemplate.queryForObject("select count(*)" + from(filter) + filter.and("m.member_id <= ?"),
+				Long.class, params.toArray());
+		return OptionalLong.of(Math.round((double) matched * tableRows.getAsLong() / sampleSize));
+	}
+
+	private OptionalLong tableRowEstimate() {
+		String sql = isPostgres()
+				? "select cast(reltuples as bigint) from pg_class where relname = 'member'"
+				: "select row_count_estimate from information_schema.tables where lower(table_name) = 'member'";
+		List<Long> rows = jdbcTemplate.queryForList(sql, Long.class);
+		if (rows.isEmpty() || rows.get(0) == null || rows.get(0) <= 0) {
+			return OptionalLong.empty();
+		}
+		return OptionalLong.of(rows.get(0));
+	}
+
+	private boolean isPostgres() {
+		String product = databaseProduct;
+		if (product == null) {
+			product = jdbcTemplate.execute(
+					(ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+			databaseProduct = product;
+		}
+		return "PostgreSQL".equalsIgnoreCase(product);
+	}
+}
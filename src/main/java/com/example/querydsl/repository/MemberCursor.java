@@ -0,0 +1,42 @@
+package com.example.querydsl.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+ * keyset paging 용 continuation token
+ * 마지막으로 내려준 member.id 를 base64url 로 감싸서 client 가 값을 해석/조작하지 않도록 함
+ */
+final class MemberCursor {
+
+	private static final String PREFIX = "m:";
+
+	private MemberCursor() {
+	}
+
+	static String encode(Long lastMemberId) {
+		String raw = PREFIX + lastMemberId;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/* cursor 가 없으면 첫 slice => null */
+	static Long decode(String cursor) {
+		if (cursor == null || cursor.isEmpty()) {
+			return null;
+		}
+		String raw;
+		try {
+			raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCursorException(cursor, e);
+		}
+		if (!raw.startsWith(PREFIX)) {
+			throw new InvalidCursorException(cursor, null);
+		}
+		try {
+			return Long.valueOf(raw.substring(PREFIX.length()));
+		} catch (NumberFormatException e) {
+			throw new InvalidCursorException(cursor, e);
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package com.example.querydsl.repository;
+
+import static com.example.querydsl.repository.MemberConditionMask.AGE_GOE;
+import static com.example.querydsl.repository.MemberConditionMask.AGE_LOE;
+import static com.example.querydsl.repository.MemberConditionMask.TEAM_NAME;
+import static com.example.querydsl.repository.MemberConditionMask.USERNAME;
+import static com.example.querydsl.repository.MemberConditionMask.has;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * 실제 검색에 쓰인 조건 조합(MemberConditionMask) 별 호출 수 집계 + index 제안
+ * 기록은 LongAdder 증가 한 번, 제안은 조회 시점에만 계산
+ * 제안 규칙 : 조합의 일치 조건 컬럼을 앞에, 범위(age) 컬럼을 뒤에 둔 index 가 이미 있는 index 의 선두 컬럼과 맞지 않으면 제안
+ */
+@Component
+public class MemberIndexAdvisor {
+
+	private final LongAdder[] calls = new LongAdder[MemberConditionMask.COMBINATIONS];
+	private final double minShare;
+	private final Map<String, List<List<String>>> existing;
+
+	public MemberIndexAdvisor(@Value("${member.search.index-advisor.min-share:0.05}") double minShare) {
+		for (int i = 0; i < calls.length; i++) {
+			calls[i] = new LongAdder();
+		}
+		this.minShare = minShare;
+		this.existing = new LinkedHashMap<>();
+		existing.put("member", indexes(Member.class));
+		existing.put("team", indexes(Team.class));
+	}
+
+	public void record(MemberSearchCondition condition) {
+		calls[MemberConditionMask.of(condition)].increment();
+	}
+
+	public void reset() {
+		for (LongAdder adder : calls) {
+			adder.reset();
+		}
+	}
+
+	public Report report() {
+		long total = 0;
+		long[] counts = new long[calls.length];
+		for (int mask = 0; mask < calls.length; mask++) {
+			counts[mask] = calls[mask].sum();
+			total += counts[mask];
+		}
+		List<Usage> usages = new ArrayList<>();
+		Map<String, Long> suggestions = new LinkedHashMap<>();
+		for (int mask = 0; mask < calls.length; mask++) {
+			if (counts[mask] == 0) {
+				continue;
+			}
+			double share = (double) counts[mask] / total;
+			List<String> wanted = wantedIndexes(mask);
+			List<String> missing = wanted.stream().filter(index -> !covered(index)).collect(Collectors.toList());
+			usages.add(new Usage(MemberConditionMask.describe(mask), counts[mask], share, wanted, missing));
+			if (share >= minShare) {
+				missing.forEach(index -> suggestions.merge(index, counts[mask], Long::sum));
+			}
+		}
+		usages.sort(Comparator.comparingLong(Usage::getCalls).reversed());
+		List<Suggestion> suggested = suggestions.entrySet().stream()
+				.sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+				.map(entry -> new Suggestion(ddl(entry.getKey()), entry.getValue()))
+				.collect(Collectors.toList());
+		return new Report(total, usages, suggested);
+	}
+
+	/*
+	 * "member (username, age)" 형태
+	 * 조합에 포함된 조건(MemberSearchPredicates) 의 컬럼으로 구성 : 일치 조건(username, team 조건이면 join 컬럼 team_id) 뒤에 범위 조건(age)
+	 * 이미 있는지는 covered 가 판단
+	 */
+	static List<String> wantedIndexes(int mask) {
+		List<String> columns = new ArrayList<>();
+		if (has(mask, USERNAME)) {
+			columns.add("username");
+		}
+		if (has(mask, TEAM_NAME)) {
+			columns.add("team_id");
+		}
+		if (has(mask, AGE_GOE) || has(mask, AGE_LOE)) {
+			columns.add("age");
+		}
+		List<String> wanted = new ArrayList<>();
+		if (!columns.isEmpty()) {
+			wanted.add("member (" + String.join(", ", columns) + ")");
+		}
+		if (has(mask, TEAM_NAME)) {
+			wanted.add("team (name)");
+		}
+		return wanted;
+	}
+
+	/* 제안 컬럼 목록이 기존 index 의 선두 컬럼과 같으면 이미 있음 */
+	private boolean covered(String index) {
+		for (List<String> candidate : existing.getOrDefault(table(index), new ArrayList<>())) {
+			if (startsWith(candidate, columns(index))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	static String ddl(String index) {
+		String table = table(index);
+		return "create index idx_" + table + "_" + String.join("_", columns(index)) + " on " + index;
+	}
+
+	private static String table(String index) {
+		return index.substring(0, index.indexOf(' '));
+	}
+
+	private static List<String> columns(String index) {
+		return Arrays.asList(index.substring(index.indexOf('(') + 1, index.indexOf(')')).split(",\\s*"));
+	}
+
+	private static boolean startsWith(List<String> index, List<String> columns) {
+		return index.size() >= columns.size() && index.subList(0, columns.size()).equals(columns);
+	}
+
+	private static List<List<String>> indexes(Class<?> entity) {
+		Table table = entity.getAnnotation(Table.class);
+		List<List<String>> result = new ArrayList<>();
+		if (table != null) {
+			for (Index index : table.indexes()) {
+				result.add(Arrays.stream(index.columnList().split(",")).map(String::trim).collect(Collectors.toList()));
+			}
+		}
+		return result;
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Report {
+		private final long totalCalls;
+		private final List<Usage> usages;
+		private final List<Suggestion> suggestions;
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Usage {
+		private final String condition;
+		private final long calls;
+		private final double share;
+		private final List<String> wantedIndexes;
+		private final List<String> missingIndexes;
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Suggestion {
+		private final String ddl;
+		private final long calls;
+	}
+}
@@ -2,10 +2,14 @@ package com.example.querydsl.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 
+import org.hibernate.annotations.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import com.example.querydsl.dto.MemberDto;
@@ -19,12 +23,13 @@ import static com.example.querydsl.entity.QTeam.*;
 
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Predicate;
-import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 
 @Repository
 public class MemberJpaRepository {
 
+	private static final int EXPORT_FETCH_SIZE = 1000;
+
 	/*
 	 * entitymanager 는 동시성 문제가 없음 entitymanager는 spring에서 proxy를 주입받아 사용해 tranaction
 	 * 단위로 다 다른 곳으로 binding 되도록 routing만 수행 => 동시성 문제 발생 x reference -> ORM 표준 JPA 책
@@ -32,46 +37,56 @@ public class MemberJpaRepository {
 	 */
 	private final EntityManager em;
 	private final JPAQueryFactory queryFactory;
+	private final MemberSearchTemplates searchTemplates;
+	private final MemberIndexAdvisor indexAdvisor;
 
-	/* 생성자 주입을 통한 queryfactory 생성 */
-	public MemberJpaRepository(EntityManager em) {
+	/*
+	 * 의존성 주입 방법 - Application.java 파일에 Bean으로 등록한 JPAQueryFactory 사용
+	 * (직접 new JPAQueryFactory(em) 하면 query 실행 지표 수집에서 빠짐)
+	 */
+	public MemberJpaRepository(EntityManager em, JPAQueryFactory queryFactory, MemberSearchTemplates searchTemplates,
+			MemberIndexAdvisor indexAdvisor) {
 		this.em = em;
-		this.queryFactory = new JPAQueryFactory(em);
+		this.queryFactory = queryFactory;
+		this.searchTemplates = searchTemplates;
+		this.indexAdvisor = indexAdvisor;
 	}
 
-	/*
-	 * 의존성 주입 방법 - Application.java 파일에 JPAQueryFactory를 Bean으로 등록 public
-	 * MemberJpaRepository(EntityManager em,JPAQueryFactory queryFactory) { this.em
-	 * = em; this.queryFactory = new JPAQueryFactory(em); }
-	 */
 	public void save(Member member) {
 		em.persist(member);
 
 	}
 
+	@Transactional(readOnly = true)
 	public List<Member> findAllQuerydsl() {
 		return queryFactory.selectFrom(member).fetch();
 	}
 
+	@Transactional(readOnly = true)
 	public Optional<Member> findById(Long id) {
 		Member findMember = em.find(Member.class, id);
 		return Optional.ofNullable(findMember);
 	}
 
+	@Transactional(readOnly = true)
 	public List<Member> findAll() {
 		return em.createQuery("select m from Member m", Member.class).getResultList();
 	}
 
+	@Transactional(readOnly = true)
 	public List<Member> findByUsernameQuerydsl(String username) {
 		return queryFactory.selectFrom(member).where(member.username.eq(username)).fetch();
 	}
 
+	@Transactional(readOnly = true)
 	public List<Member> findByUsername(String username) {
 		return em.createQuery("select m from Member m where m.username = :username", Member.class)
 				.setParameter("username", username).getResultList();
 	}
 
+	@Transactional(readOnly = true)
 	public List<MemberTeamDto> searchByBuilder(MemberSearchCondition condition) {
+		indexAdvisor.record(condition);
 
 		BooleanBuilder builder = new BooleanBuilder();
 		if (StringUtils.hasText(condition.getUserName())) {
@@ -94,30 +109,34 @@ public class MemberJpaRepository {
 				.from(member).leftJoin(member.team, team).where(builder).fetch();
 	}
 
+	/* 조건 조합별로 미리 만들어 둔 jpql 사용 (MemberSearchTemplates) */
+	@Transactional(readOnly = true)
 	public List<MemberTeamDto> search(MemberSearchCondition condition) {
-		return queryFactory
+		indexAdvisor.record(condition);
+		return searchTemplates.search(condition);
+	}
+
+	/*
+	 * 대량 export 용 streaming 조회
+	 * List 로 한번에 받지 않고 forward-only cursor(Hibernate ScrollableResults 기반 Stream)에서 한 row 씩 consumer 로 넘김
+	 * - fetch size 만큼만 jdbc driver 가 들고 있어 heap 사용량이 결과 건수와 무관
+	 * - DTO projection 이라 영속성 컨텍스트에 entity 가 쌓이지 않음 (detach 불필요)
+	 * cursor 가 열려 있는 동안 connection 을 잡고 있어야 하므로 transaction 안에서 실행
+	 */
+	@Transactional(readOnly = true)
+	public void streamSearch(MemberSearchCondition condition, Consumer<MemberTeamDto> consumer) {
+		indexAdvisor.record(condition);
+		try (Stream<MemberTeamDto> rows = queryFactory
 				.select(new QMemberTeamDto(member.id.as("memberId"), member.username, member.age,
 						team.id.as("teamId"), team.name.as("teamName")))
 				.from(member).leftJoin(member.team, team)
-				.where(usernameEq(condition.getUserName()), teamNameEq(condition.getTeamName()),
-						ageGoe(condition.getAgeGoe()), ageLoe(condition.getAgeLoe()))
-				.fetch();
-	}
-
-	private BooleanExpression ageGoe(Integer ageGoe) {
-		return ageGoe == null ? member.age.goe(ageGoe) : null;
-	}
-
-	private BooleanExpression ageLoe(Integer ageLoe) {
-		return ageLoe == null ? member.age.goe(ageLoe) : null;
-	}
-
-	private BooleanExpression teamNameEq(String teamName) {
-		return  StringUtils.hasText(teamName) ? team.name.eq(teamName) : null ;
-	}
-
-	private BooleanExpression usernameEq(String userName) {
-		return StringUtils.hasText(userName) ? team.name.eq(userName) : null ;
+				.where(MemberSearchPredicates.of(condition))
+				.orderBy(member.id.asc())
+				.setHint(QueryHints.FETCH_SIZE, EXPORT_FETCH_SIZE)
+				.setHint(QueryHints.READ_ONLY, true)
+				.stream()) {
+			rows.forEach(consumer);
+		}
 	}
 
 	
@@ -0,0 +1,72 @@
+package com.example.querydsl.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+
+/*
+ * MemberSearchCondition => native sql where 절
+ * MemberSearchPredicates 와 같은 의미 (조건 포함 여부는 같은 MemberConditionMask, 결과 일치는 MemberSearchTemplatesTest 에서 확인)
+ * alias 는 member m, team t 고정
+ */
+final class MemberNativeFilter {
+
+	private final String where;
+	private final List<Object> params;
+	private final boolean teamReferenced;
+
+	private MemberNativeFilter(String where, List<Object> params, boolean teamReferenced) {
+		this.where = where;
+		this.params = params;
+		this.teamReferenced = teamReferenced;
+	}
+
+	static MemberNativeFilter of(MemberSearchCondition condition) {
+		int mask = MemberConditionMask.of(condition);
+		List<String> clauses = new ArrayList<>();
+		List<Object> params = new ArrayList<>();
+		if (MemberConditionMask.has(mask, MemberConditionMask.USERNAME)) {
+			clauses.add("m.username = ?");
+			params.add(condition.getUserName());
+		}
+		boolean teamReferenced = MemberConditionMask.has(mask, MemberConditionMask.TEAM_NAME);
+		if (teamReferenced) {
+			clauses.add("t.name = ?");
+			params.add(condition.getTeamName());
+		}
+		if (MemberConditionMask.has(mask, MemberConditionMask.AGE_GOE)) {
+			clauses.add("m.age >= ?");
+			params.add(condition.getAgeGoe());
+		}
+		if (MemberConditionMask.has(mask, MemberConditionMask.AGE_LOE)) {
+			clauses.add("m.age <= ?");
+			params.add(condition.getAgeLoe());
+		}
+		String where = clauses.isEmpty() ? "" : " where " + String.join(" and ", clauses);
+		return new MemberNativeFilter(where, Collections.unmodifiableList(params), teamReferenced);
+	}
+
+	/* " where ..." 또는 조건이 없으면 "" */
+	String where() {
+		return where;
+	}
+
+	/* where 에 이어 붙일 추가 조건 */
+	String and(String clause) {
+		return where.isEmpty() ? " where " + clause : where + " and " + clause;
+	}
+
+	List<Object> params() {
+		return params;
+	}
+
+	boolean isEmpty() {
+		return params.isEmpty();
+	}
+
+	boolean isTeamReferenced() {
+		return teamReferenced;
+	}
+}
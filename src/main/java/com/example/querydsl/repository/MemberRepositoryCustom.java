@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberSlice;
 import com.example.querydsl.dto.MemberTeamDto;
 
 public interface MemberRepositoryCustom  {
@@ -13,4 +14,7 @@ public interface MemberRepositoryCustom  {
 	List<MemberTeamDto> search(MemberSearchCondition condition);
 	Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable);
 	Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition,Pageable pageable);
+	Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition,Pageable pageable, CountMode countMode);
+	Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition,Pageable pageable, CountMode countMode, PagingStrategy pagingStrategy);
+	MemberSlice searchSlice(MemberSearchCondition condition, String cursor, int size);
 }
@@ -3,94 +3,328 @@ package com.example.querydsl.repository;
 import static com.example.querydsl.entity.QMember.member;
 import static com.example.querydsl.entity.QTeam.team;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.support.PageableExecutionUtils;
-import org.springframework.util.StringUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.querydsl.dto.CountedPage;
 import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberSlice;
 import com.example.querydsl.dto.MemberTeamDto;
 import com.example.querydsl.dto.QMemberTeamDto;
-import com.example.querydsl.entity.Member;
-import com.querydsl.core.QueryResults;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 
+/* 조회 전용 => readOnly transaction (replica profile 에서는 replica 로 routing) */
+@Transactional(readOnly = true)
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
+	private final EntityManager em;
 	private final JPAQueryFactory queryFactory;
+	private final MemberCountCache countCache;
+	private final MemberCountEstimator countEstimator;
+	private final ParallelQueryExecutor parallelExecutor;
+	private final MemberSearchTemplates searchTemplates;
+	private final MemberIndexAdvisor indexAdvisor;
+	private final CountMode defaultCountMode;
+	private final PagingStrategy pageSimpleStrategy;
+	private final PagingStrategy pageComplexStrategy;
+	private final TransactionTemplate readOnlyTransaction;
 
-	public MemberRepositoryImpl(JPAQueryFactory queryFactory) {
+	public MemberRepositoryImpl(EntityManager em, JPAQueryFactory queryFactory, MemberCountCache countCache,
+			MemberCountEstimator countEstimator, ParallelQueryExecutor parallelExecutor,
+			MemberSearchTemplates searchTemplates, MemberIndexAdvisor indexAdvisor,
+			PlatformTransactionManager transactionManager,
+			@Value("${member.search.count-mode:exact}") CountMode defaultCountMode,
+			@Value("${member.search.paging.page-simple:single-query}") PagingStrategy pageSimpleStrategy,
+			@Value("${member.search.paging.page-complex:single-query}") PagingStrategy pageComplexStrategy) {
+		this.em = em;
 		this.queryFactory = queryFactory;
+		this.countCache = countCache;
+		this.countEstimator = countEstimator;
+		this.parallelExecutor = parallelExecutor;
+		this.searchTemplates = searchTemplates;
+		this.indexAdvisor = indexAdvisor;
+		this.defaultCountMode = defaultCountMode;
+		this.pageSimpleStrategy = pageSimpleStrategy;
+		this.pageComplexStrategy = pageComplexStrategy;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
 	}
 
+	/* 조건 조합별로 미리 만들어 둔 jpql 사용 (MemberSearchTemplates) */
 	@Override
 	public List<MemberTeamDto> search(MemberSearchCondition condition) {
-		return queryFactory
-				.select(new QMemberTeamDto(member.id.as("memberId"), member.username, member.age,
-						team.id.as("teamId"), team.name.as("teamName")))
-				.from(member).leftJoin(member.team, team)
-				.where(usernameEq(condition.getUserName()), teamNameEq(condition.getTeamName()),
-						ageGoe(condition.getAgeGoe()), ageLoe(condition.getAgeLoe()))
-				.fetch();
+		indexAdvisor.record(condition);
+		return searchTemplates.search(condition);
+	}
+
+	/*
+	 * fetchResults() 는 deprecated + content query 를 감싼 count query(join 포함)를 항상 실행
+	 * => content / count 를 분리하고 count 는 MemberSearchTemplates.count 로 최적화 (searchPageComplex 와 같은 경로, 항상 exact count)
+	 */
+	@Override
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition,
+			Pageable pageable) {
+		return searchPageComplex(condition, pageable, CountMode.EXACT, pageSimpleStrategy);
+	}
+
+	@Override
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition,
+			Pageable pageable) {
+		return searchPageComplex(condition, pageable, defaultCountMode);
 	}
 
-	private BooleanExpression usernameEq(String username) {
-		return StringUtils.hasText(username) ? null : member.username.eq(username);
+	@Override
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition,
+			Pageable pageable, CountMode countMode) {
+		return searchPageComplex(condition, pageable, countMode, pageComplexStrategy);
 	}
 
-	private BooleanExpression teamNameEq(String teamName) {
-		return StringUtils.hasText(teamName) ? null : team.name.eq(teamName);
+	/*
+	 * 호출 thread 에서는 transaction 을 시작하지 않음 (SUPPORTS, 호출한 쪽 transaction 이 있으면 참여)
+	 * - PARALLEL : content / count 를 worker 의 transaction 에서만 실행 => 호출 thread 가 connection 을 잡고 기다리지 않음
+	 * - 그 외 : read-only transaction 하나에서 content / count 실행
+	 */
+	@Override
+	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition,
+			Pageable pageable, CountMode countMode, PagingStrategy pagingStrategy) {
+		indexAdvisor.record(condition);
+		if (pagingStrategy == PagingStrategy.PARALLEL) {
+			return parallelPage(condition, pageable, countMode);
+		}
+		return readOnlyTransaction.execute(status -> sequentialPage(condition, pageable, countMode, pagingStrategy));
 	}
 
-	private BooleanExpression ageGoe(Integer ageGoe) {
-		return ageGoe == null ? null : member.age.goe(ageGoe);
+	private Page<MemberTeamDto> sequentialPage(MemberSearchCondition condition, Pageable pageable,
+			CountMode countMode, PagingStrategy pagingStrategy) {
+		/* window count 는 항상 exact total => 추정 count 를 요청하면 SINGLE_QUERY 로 처리 */
+		if (pagingStrategy == PagingStrategy.WINDOW_COUNT && countMode == CountMode.EXACT) {
+			return windowCountPage(condition, pageable);
+		}
+		if (pagingStrategy == PagingStrategy.WINDOW_COUNT) {
+			pagingStrategy = PagingStrategy.SINGLE_QUERY;
+		}
+		/*
+		 * count 최적화 case 1. 페이지 시작이면서 컨텐츠 사이즈가 페이지 사이즈보다 작을 때 ex) content의 total count가
+		 * 3 이고 paging size가 5인 경우 case 2. 마지막 페이지 일 때 (offset + 컨텐츠 사이즈를 더해서 전체 사이즈 구함)
+		 * ex) 마지막 페이지
+		 * 그 외에는 같은 조건의 count 를 MemberCountCache 에서 재사용
+		 * countMode 가 EXACT 가 아니면 추정치 사용 (추정할 수 없으면 exact count)
+		 */
+		AtomicBoolean totalExact = new AtomicBoolean(true);
+		LongSupplier total = total(condition, countMode, totalExact);
+		List<MemberTeamDto> content = pageContent(condition, pageable, pagingStrategy);
+		return countedPage(content, pageable, total, totalExact);
+		// return new PageImpl<>(content, pageable, total);
 	}
 
-	private BooleanExpression ageLoe(Integer ageLoe) {
-		return ageLoe == null ? null : member.age.loe(ageLoe);
+	/*
+	 * total 이 필요한 경우(꽉 찬 page, offset 이 범위를 넘은 빈 page)에만 count 실행
+	 * 추정치는 content 와 모순되지 않게 보정
+	 * - 꽉 찬 page => 최소 offset + pageSize + 1 (다음 page 로 이동 가능)
+	 * - 빈 page => 최대 offset
+	 */
+	private static Page<MemberTeamDto> countedPage(List<MemberTeamDto> content, Pageable pageable,
+			LongSupplier total, AtomicBoolean totalExact) {
+		Page<MemberTeamDto> page = PageableExecutionUtils.getPage(content, pageable, () -> {
+			long count = total.getAsLong();
+			if (totalExact.get()) {
+				return count;
+			}
+			if (content.isEmpty()) {
+				return Math.min(count, pageable.getOffset());
+			}
+			return Math.max(count, pageable.getOffset() + pageable.getPageSize() + 1);
+		});
+		return new CountedPage<>(page.getContent(), pageable, page.getTotalElements(), totalExact.get());
 	}
 
-	@Override
-	public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition,
-			Pageable pageable) {
-		QueryResults<MemberTeamDto> results = queryFactory
-				.select(new QMemberTeamDto(member.id, member.username, member.age, team.id,
-						team.name))
+	private LongSupplier total(MemberSearchCondition condition, CountMode countMode, AtomicBoolean totalExact) {
+		return () -> {
+			if (countMode != CountMode.EXACT) {
+				OptionalLong estimate = countEstimator.estimate(condition, countMode);
+				if (estimate.isPresent()) {
+					totalExact.set(false);
+					return estimate.getAsLong();
+				}
+			}
+			return countCache.get(condition, () -> searchTemplates.count(condition));
+		};
+	}
+
+	/*
+	 * content / count 를 각각 별도 read-only connection 에서 동시에 실행 => latency 가 합이 아니라 max
+	 * count 가 필요한지(첫/마지막 page)는 content 를 받아야 알 수 있으므로 count 는 미리 시작해 둠
+	 * => 결과적으로 필요 없었던 count 도 connection 하나를 씀 (아직 시작 전이면 취소, 실행 중이면 끝까지 돌고 count cache 만 채움)
+	 * exact count 가 이미 count cache 에 있으면 count task 를 만들지 않음
+	 */
+	private Page<MemberTeamDto> parallelPage(MemberSearchCondition condition, Pageable pageable,
+			CountMode countMode) {
+		AtomicBoolean totalExact = new AtomicBoolean(true);
+		long deadline = parallelExecutor.deadline();
+		Future<List<MemberTeamDto>> content = parallelExecutor
+				.submit(() -> pageContent(condition, pageable, PagingStrategy.SINGLE_QUERY));
+		OptionalLong cached = countMode == CountMode.EXACT ? countCache.peek(condition) : OptionalLong.empty();
+		if (cached.isPresent()) {
+			return countedPage(parallelExecutor.await(content, deadline), pageable, cached::getAsLong, totalExact);
+		}
+		LongSupplier total = total(condition, countMode, totalExact);
+		Future<Long> count = parallelExecutor.submit(total::getAsLong);
+		try {
+			return countedPage(parallelExecutor.await(content, deadline), pageable,
+					() -> parallelExecutor.await(count, deadline), totalExact);
+		} finally {
+			count.cancel(false);
+		}
+	}
+
+	/*
+	 * page content 조회
+	 * 모든 방식이 member.id 순으로 정렬해서 같은 page 를 돌려줌
+	 */
+	private List<MemberTeamDto> pageContent(MemberSearchCondition condition, Pageable pageable,
+			PagingStrategy pagingStrategy) {
+		if (pagingStrategy == PagingStrategy.DEFERRED_JOIN) {
+			return deferredJoinContent(condition, pageable);
+		}
+		return searchTemplates.page(condition, pageable.getOffset(), pageable.getPageSize());
+	}
+
+	/*
+	 * deferred join ("ids first")
+	 * 1) offset 으로 건너뛰는 구간은 member.id 만 읽음 (team 은 조건에 있을 때만 join)
+	 * 2) 남은 page 크기만큼만 team 과 join 해서 projection
+	 * in 절 결과는 순서가 보장되지 않으므로 1) 의 id 순서로 다시 정렬
+	 */
+	private List<MemberTeamDto> deferredJoinContent(MemberSearchCondition condition, Pageable pageable) {
+		JPAQuery<Long> idQuery = queryFactory.select(member.id).from(member);
+		if (MemberConditionMask.has(MemberConditionMask.of(condition), MemberConditionMask.TEAM_NAME)) {
+			idQuery.join(member.team, team);
+		}
+		List<Long> ids = idQuery
+				.where(MemberSearchPredicates.of(condition))
+				.orderBy(member.id.asc())
+				.offset(pageable.getOffset()).limit(pageable.getPageSize()).fetch();
+		if (ids.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<MemberTeamDto> rows = queryFactory
+				.select(new QMemberTeamDto(member.id.as("memberId"), member.username, member.age,
+						team.id.as("teamId"), team.name.as("teamName")))
 				.from(member).leftJoin(member.team, team)
-				.where(usernameEq(condition.getUserName()), teamNameEq(condition.getTeamName()),
-						ageGoe(condition.getAgeGoe()), ageLoe(condition.getAgeLoe()))
-				.offset(pageable.getOffset()).limit(pageable.getPageSize()).fetchResults();
-		List<MemberTeamDto> content = results.getResults();
-		long total = results.getTotal();
-		return new PageImpl<>(content, pageable, total);
+				.where(member.id.in(ids))
+				.fetch();
+		Map<Long, MemberTeamDto> byId = new HashMap<>(rows.size() * 2);
+		for (MemberTeamDto row : rows) {
+			byId.put(row.getMemberId(), row);
+		}
+		/* id 조회와 projection 사이에 삭제된 member 는 건너뜀 */
+		return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
 	}
 
+	/*
+	 * content + total 을 한 번의 round trip 으로 조회
+	 * count(*) over() 는 limit/offset 적용 전 전체 결과 건수라 모든 row 에 같은 total 이 붙음
+	 * jpql 은 window function 을 지원하지 않으므로 native sql (MemberNativeFilter 로 같은 조건 유지)
+	 * total 은 항상 이번 조회의 window total (cache 값은 이전 값일 수 있으므로 쓰지 않고 cache 를 갱신만 함)
+	 * offset 이 결과 범위를 넘어가서 row 가 없을 때만 MemberCountCache / count query 로 대체
+	 */
+	private Page<MemberTeamDto> windowCountPage(MemberSearchCondition condition, Pageable pageable) {
+		MemberNativeFilter filter = MemberNativeFilter.of(condition);
+		Query query = em.createNativeQuery("select m.member_id, m.username, m.age, t.team_id, t.name,"
+				+ " count(*) over () as total"
+				+ " from member m left outer join team t on m.team_id = t.team_id"
+				+ filter.where()
+				+ " order by m.member_id limit ? offset ?");
+		List<Object> params = new ArrayList<>(filter.params());
+		params.add(pageable.getPageSize());
+		params.add(pageable.getOffset());
+		for (int i = 0; i < params.size(); i++) {
+			query.setParameter(i + 1, params.get(i));
+		}
+		long loadGeneration = countCache.generation();
+		@SuppressWarnings("unchecked")
+		List<Object[]> rows = query.getResultList();
+
+		List<MemberTeamDto> content = new ArrayList<>(rows.size());
+		for (Object[] row : rows) {
+			content.add(new MemberTeamDto(toLong(row[0]), (String) row[1], ((Number) row[2]).intValue(),
+					toLong(row[3]), (String) row[4]));
+		}
+		LongSupplier total;
+		if (rows.isEmpty()) {
+			total = () -> countCache.get(condition, () -> searchTemplates.count(condition));
+		} else {
+			long windowTotal = ((Number) rows.get(0)[5]).longValue();
+			countCache.put(condition, windowTotal, loadGeneration);
+			total = () -> windowTotal;
+		}
+		Page<MemberTeamDto> page = PageableExecutionUtils.getPage(content, pageable, total);
+		return new CountedPage<>(page.getContent(), pageable, page.getTotalElements(), true);
+	}
+
+	private static Long toLong(Object value) {
+		return value == null ? null : ((Number) value).longValue();
+	}
+
+	/*
+	 * keyset(seek) paging
+	 * offset 은 앞 row 를 모두 읽고 버리기 때문에 깊은 page 일수록 느려짐
+	 * => 마지막으로 본 member.id 보다 큰 row 부터 pk index 를 타고 바로 읽음 (page 깊이와 무관하게 일정한 latency)
+	 * size + 1 건을 조회해서 다음 slice 존재 여부를 판단
+	 */
 	@Override
-	public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition,
-			Pageable pageable) {
+	public MemberSlice searchSlice(MemberSearchCondition condition, String cursor, int size) {
+		if (size < 1) {
+			throw new IllegalArgumentException("size must be positive: " + size);
+		}
+		Long lastMemberId = MemberCursor.decode(cursor);
+		indexAdvisor.record(condition);
 		List<MemberTeamDto> content = queryFactory
 				.select(new QMemberTeamDto(member.id.as("memberId"), member.username, member.age,
 						team.id.as("teamId"), team.name.as("teamName")))
 				.from(member).leftJoin(member.team, team)
-				.where(usernameEq(condition.getUserName()), teamNameEq(condition.getTeamName()),
-						ageGoe(condition.getAgeGoe()), ageLoe(condition.getAgeLoe()))
-				.offset(pageable.getOffset()).limit(pageable.getPageSize()).fetch();
-		JPAQuery<Member> countQuery = queryFactory.select(member).from(member)
-				.leftJoin(member.team, team).where(usernameEq(condition.getUserName()),
-						teamNameEq(condition.getTeamName()), ageGoe(condition.getAgeGoe()),
-						ageLoe(condition.getAgeLoe()));
-		/*
-		 * count 최적화 case 1. 페이지 시작이면서 컨텐츠 사이즈가 페이지 사이즈보다 작을 때 ex) content의 total count가
-		 * 3 이고 paging size가 5인 경우 case 2. 마지막 페이지 일 때 (offset + 컨텐츠 사이즈를 더해서 전체 사이즈 구함)
-		 * ex) 마지막 페이지
-		 */
-		return PageableExecutionUtils.getPage(content, pageable, () -> countQuery.fetchCount());
-		// return new PageImpl<>(content, pageable, total);
+				.where(MemberSearchPredicates.of(condition))
+				.where(idGt(lastMemberId))
+				.orderBy(member.id.asc())
+				.limit(size + 1).fetch();
+
+		boolean hasNext = content.size() > size;
+		if (hasNext) {
+			content = content.subList(0, size);
+		}
+		String nextCursor = hasNext ? MemberCursor.encode(content.get(size - 1).getMemberId()) : null;
+		return new MemberSlice(content, hasNext, nextCursor);
+	}
+
+	private BooleanExpression idGt(Long lastMemberId) {
+		return lastMemberId == null ? null : member.id.gt(lastMemberId);
 	}
 
 }
@@ -0,0 +1,55 @@
+package com.example.querydsl.repository;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+import static com.example.querydsl.repository.MemberConditionMask.AGE_GOE;
+import static com.example.querydsl.repository.MemberConditionMask.AGE_LOE;
+import static com.example.querydsl.repository.MemberConditionMask.TEAM_NAME;
+import static com.example.querydsl.repository.MemberConditionMask.USERNAME;
+import static com.example.querydsl.repository.MemberConditionMask.has;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.Param;
+
+/*
+ * MemberSearchCondition => querydsl where 조건 (member, team alias 는 QMember.member / QTeam.team)
+ * 값을 바로 넣는 조건(of)과 미리 만들어 두고 parameter 만 bind 하는 조건(template)이 같은 build 를 사용
+ * 어떤 field 가 조건에 들어가는지는 MemberConditionMask 가 결정 (문자열은 hasText, 숫자는 not null)
+ */
+final class MemberSearchPredicates {
+
+	static final Param<String> USERNAME_PARAM = new Param<>(String.class, "username");
+	static final Param<String> TEAM_NAME_PARAM = new Param<>(String.class, "teamName");
+	static final Param<Integer> AGE_GOE_PARAM = new Param<>(Integer.class, "ageGoe");
+	static final Param<Integer> AGE_LOE_PARAM = new Param<>(Integer.class, "ageLoe");
+
+	private MemberSearchPredicates() {
+	}
+
+	/* 조건 값을 상수로 넣은 where 조건 (조건에 없는 field 는 null => querydsl 이 무시) */
+	static Predicate[] of(MemberSearchCondition condition) {
+		return build(MemberConditionMask.of(condition), constant(condition.getUserName()),
+				constant(condition.getTeamName()), constant(condition.getAgeGoe()), constant(condition.getAgeLoe()));
+	}
+
+	/* 조합별로 한 번 만들어 두는 where 조건, 값은 bind 로 */
+	static Predicate[] template(int mask) {
+		return build(mask, USERNAME_PARAM, TEAM_NAME_PARAM, AGE_GOE_PARAM, AGE_LOE_PARAM);
+	}
+
+	private static Predicate[] build(int mask, Expression<String> username, Expression<String> teamName,
+			Expression<Integer> ageGoe, Expression<Integer> ageLoe) {
+		return new Predicate[] {
+				has(mask, USERNAME) ? member.username.eq(username) : null,
+				has(mask, TEAM_NAME) ? team.name.eq(teamName) : null,
+				has(mask, AGE_GOE) ? member.age.goe(ageGoe) : null,
+				has(mask, AGE_LOE) ? member.age.loe(ageLoe) : null };
+	}
+
+	private static <T> Expression<T> constant(T value) {
+		return value == null ? null : Expressions.constant(value);
+	}
+}
@@ -0,0 +1,149 @@
+package com.example.querydsl.repository;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+import static com.example.querydsl.repository.MemberConditionMask.TEAM_NAME;
+import static com.example.querydsl.repository.MemberConditionMask.has;
+import static com.example.querydsl.repository.MemberSearchPredicates.AGE_GOE_PARAM;
+import static com.example.querydsl.repository.MemberSearchPredicates.AGE_LOE_PARAM;
+import static com.example.querydsl.repository.MemberSearchPredicates.TEAM_NAME_PARAM;
+import static com.example.querydsl.repository.MemberSearchPredicates.USERNAME_PARAM;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+import org.springframework.stereotype.Component;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.dto.QMemberTeamDto;
+import com.example.querydsl.monitoring.InstrumentedJPAQueryFactory;
+import com.querydsl.jpa.HQLTemplates;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+ * MemberSearchCondition 조합(16 가지)별로 미리 serialize 해 둔 jpql
+ * 기동 시 조합마다 content / page(member.id 순) / count query 를 querydsl 로 한 번만 만들어 jpql 문자열로 보관
+ * (조건은 MemberSearchPredicates.template 의 Param placeholder) => 호출 시에는 serialize 없이 parameter 만 bind
+ * 조합이 같으면 jpql 문자열도 같으므로 hibernate 의 jpql -> sql 변환 cache 를 재사용
+ * 실행은 InstrumentedJPAQueryFactory.execute 를 거쳐 metric / JFR event 에 포함됨
+ * hibernate 전용 (HQLTemplates 로 serialize)
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberSearchTemplates {
+
+	private static final QMemberTeamDto PROJECTION = new QMemberTeamDto(member.id.as("memberId"), member.username,
+			member.age, team.id.as("teamId"), team.name.as("teamName"));
+	private static final Template[] CONTENT = new Template[MemberConditionMask.COMBINATIONS];
+	private static final Template[] PAGE = new Template[MemberConditionMask.COMBINATIONS];
+	private static final Template[] COUNT = new Template[MemberConditionMask.COMBINATIONS];
+
+	static {
+		for (int mask = 0; mask < MemberConditionMask.COMBINATIONS; mask++) {
+			CONTENT[mask] = Template.of(content(mask));
+			PAGE[mask] = Template.of(content(mask).orderBy(member.id.asc()));
+			/* member -> team 은 ManyToOne 이라 left join 이 count 를 바꾸지 못함 => team 조건이 있을 때만 join */
+			JPAQuery<Long> count = new JPAQuery<Void>().select(member.id.count()).from(member);
+			if (has(mask, TEAM_NAME)) {
+				count.join(member.team, team);
+			}
+			COUNT[mask] = Template.of(count.where(MemberSearchPredicates.template(mask)));
+		}
+	}
+
+	private final EntityManager em;
+	private final JPAQueryFactory queryFactory;
+
+	public List<MemberTeamDto> search(MemberSearchCondition condition) {
+		Template template = CONTENT[MemberConditionMask.of(condition)];
+		return execute(template.jpql, "fetch", () -> rows(template.bind(em.createQuery(template.jpql), condition)),
+				List::size);
+	}
+
+	/* paging content, member.id 순 */
+	public List<MemberTeamDto> page(MemberSearchCondition condition, long offset, int limit) {
+		Template template = PAGE[MemberConditionMask.of(condition)];
+		return execute(template.jpql, "fetch", () -> rows(template.bind(em.createQuery(template.jpql), condition)
+				.setFirstResult(Math.toIntExact(offset)).setMaxResults(limit)), List::size);
+	}
+
+	/* paging count, order by 없음, entity 대신 member.id 를 바로 count */
+	public long count(MemberSearchCondition condition) {
+		Template template = COUNT[MemberConditionMask.of(condition)];
+		return execute(template.jpql, "fetchOne",
+				() -> template.bind(em.createQuery(template.jpql, Long.class), condition).getSingleResult(),
+				result -> 1);
+	}
+
+	private <R> R execute(String jpql, String operation, Supplier<R> query, ToLongFunction<R> rows) {
+		if (queryFactory instanceof InstrumentedJPAQueryFactory) {
+			return ((InstrumentedJPAQueryFactory) queryFactory).execute(jpql, operation, query, rows);
+		}
+		return query.get();
+	}
+
+	private static JPAQuery<MemberTeamDto> content(int mask) {
+		return new JPAQuery<Void>().select(PROJECTION).from(member).leftJoin(member.team, team)
+				.where(MemberSearchPredicates.template(mask));
+	}
+
+	private static List<MemberTeamDto> rows(Query query) {
+		List<?> rows = query.getResultList();
+		List<MemberTeamDto> result = new ArrayList<>(rows.size());
+		for (Object row : rows) {
+			result.add(PROJECTION.newInstance((Object[]) row));
+		}
+		return result;
+	}
+
+	/* jpql + 위치(?1, ?2 ...) 순서의 constant 목록, Param 이면 호출 시 조건 값으로 bind */
+	private static final class Template {
+
+		private final String jpql;
+		private final Object[] constants;
+
+		private Template(String jpql, Object[] constants) {
+			this.jpql = jpql;
+			this.constants = constants;
+		}
+
+		static Template of(JPAQuery<?> query) {
+			JPQLSerializer serializer = new JPQLSerializer(HQLTemplates.DEFAULT);
+			serializer.serialize(query.getMetadata(), false, null);
+			return new Template(serializer.toString(), serializer.getConstants().toArray());
+		}
+
+		<Q extends Query> Q bind(Q query, MemberSearchCondition condition) {
+			for (int i = 0; i < constants.length; i++) {
+				query.setParameter(i + 1, value(constants[i], condition));
+			}
+			return query;
+		}
+
+		private static Object value(Object constant, MemberSearchCondition condition) {
+			if (constant == USERNAME_PARAM) {
+				return condition.getUserName();
+			}
+			if (constant == TEAM_NAME_PARAM) {
+				return condition.getTeamName();
+			}
+			if (constant == AGE_GOE_PARAM) {
+				return condition.getAgeGoe();
+			}
+			if (constant == AGE_LOE_PARAM) {
+				return condition.getAgeLoe();
+			}
+			return constant;
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package com.example.querydsl.repository;
+
+/*
+ * paging content 조회 방식
+ * SINGLE_QUERY  : member left join team projection 에 바로 offset/limit
+ * DEFERRED_JOIN : 1) member.id 만 offset/limit (index 만으로 처리 가능)
+ *                 2) 해당 id 들로 projection 조회 (id in (...)) => 버려질 넓은 row 를 만들지 않음
+ * WINDOW_COUNT  : native sql 의 count(*) over() 로 content 와 total 을 한 번에 조회 (count query 생략)
+ *                 total 이 항상 exact 이므로 CountMode.EXACT 일 때만 사용, 그 외에는 SINGLE_QUERY
+ * PARALLEL      : SINGLE_QUERY content 와 count 를 별도 connection 에서 동시에 실행 (ParallelQueryExecutor)
+ */
+public enum PagingStrategy {
+	SINGLE_QUERY, DEFERRED_JOIN, WINDOW_COUNT, PARALLEL
+}
@@ -0,0 +1,75 @@
+package com.example.querydsl.repository;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.querydsl.monitoring.RequestTimeline;
+
+/*
+ * 조회 query 를 별도 thread 의 read-only transaction(= 별도 connection)에서 실행
+ * - transaction timeout 을 걸어 jdbc query timeout 까지 전달 (spring 이 javax.persistence.query.timeout 적용)
+ * - 호출 thread 의 RequestTimeline 을 task thread 에 연결
+ * - await 는 호출 단위 deadline 까지만 기다리고 넘으면 task 를 취소 후 QueryTimeoutException
+ */
+public class ParallelQueryExecutor {
+
+	private final ThreadPoolTaskExecutor executor;
+	private final TransactionTemplate readOnlyTransaction;
+	private final Duration timeout;
+
+	public ParallelQueryExecutor(ThreadPoolTaskExecutor executor, PlatformTransactionManager transactionManager,
+			Duration timeout) {
+		this.executor = executor;
+		this.timeout = timeout;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+		this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.readOnlyTransaction.setTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+	}
+
+	/* 이번 호출의 deadline (System.nanoTime 기준) */
+	public long deadline() {
+		return System.nanoTime() + timeout.toNanos();
+	}
+
+	public <T> Future<T> submit(Supplier<T> query) {
+		Supplier<T> task = RequestTimeline.wrap(() -> readOnlyTransaction.execute(status -> query.get()));
+		return executor.submit(task::get);
+	}
+
+	public <T> T await(Future<T> future, long deadline) {
+		try {
+			return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			throw new QueryTimeoutException("query exceeded " + timeout, e);
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new QueryTimeoutException("interrupted while waiting for query", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	public void shutdown() {
+		executor.shutdown();
+	}
+}
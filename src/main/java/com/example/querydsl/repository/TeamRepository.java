@@ -0,0 +1,9 @@
+package com.example.querydsl.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.example.querydsl.entity.Team;
+
+public interface TeamRepository extends JpaRepository<Team, Long>, TeamRepositoryCustom {
+
+}
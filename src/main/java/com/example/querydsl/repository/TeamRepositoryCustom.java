@@ -0,0 +1,11 @@
+package com.example.querydsl.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.example.querydsl.dto.TeamMembersDto;
+
+public interface TeamRepositoryCustom {
+
+	Page<TeamMembersDto> findTeamsWithMembers(Pageable pageable);
+}
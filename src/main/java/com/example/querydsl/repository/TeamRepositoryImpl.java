@@ -0,0 +1,56 @@
+package com.example.querydsl.repository;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.example.querydsl.dto.MemberDto;
+import com.example.querydsl.dto.TeamMembersDto;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class TeamRepositoryImpl implements TeamRepositoryCustom {
+
+	private final JPAQueryFactory queryFactory;
+
+	/*
+	 * team + members 를 고정 query 수로 조회
+	 * 1. team 만 paging (collection fetch join + paging 은 hibernate 가 메모리에서 paging => 사용 x)
+	 * 2. 해당 team id 들의 member 를 in 절 한 번으로 조회 후 메모리에서 team 별로 묶음
+	 * 3. count (PageableExecutionUtils 가 필요할 때만 실행)
+	 * team 수와 상관없이 query 최대 3번, entity 대신 projection 이라 영속성 컨텍스트 부담 없음
+	 */
+	@Override
+	public Page<TeamMembersDto> findTeamsWithMembers(Pageable pageable) {
+		List<TeamMembersDto> content = queryFactory.select(team.id, team.name).from(team).orderBy(team.id.asc())
+				.offset(pageable.getOffset()).limit(pageable.getPageSize()).fetch().stream()
+				.map(row -> new TeamMembersDto(row.get(team.id), row.get(team.name)))
+				.collect(Collectors.toList());
+
+		if (!content.isEmpty()) {
+			Map<Long, TeamMembersDto> byId = new LinkedHashMap<>();
+			content.forEach(dto -> byId.put(dto.getTeamId(), dto));
+
+			List<Tuple> members = queryFactory.select(member.team.id, member.username, member.age).from(member)
+					.where(member.team.id.in(byId.keySet())).orderBy(member.id.asc()).fetch();
+			for (Tuple row : members) {
+				byId.get(row.get(member.team.id)).getMembers()
+						.add(new MemberDto(row.get(member.username), row.get(member.age)));
+			}
+		}
+
+		return PageableExecutionUtils.getPage(content, pageable,
+				() -> queryFactory.select(team.count()).from(team).fetchOne());
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.querydsl.repository;
+
+import static com.example.querydsl.entity.QTeam.team;
+import static com.example.querydsl.entity.QTeamStats.teamStats;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.querydsl.entity.TeamStats;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 주기적으로 member table 전체 집계와 TeamStats 를 비교해 보정
+ * bulk update/delete, 직접 sql 변경처럼 entity listener 를 거치지 않은 변경 반영
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamStatsReconciler {
+
+	private final EntityManager em;
+	private final JPAQueryFactory queryFactory;
+	private final TeamStatsRepository teamStatsRepository;
+
+	@Scheduled(initialDelayString = "${team.stats.reconcile-interval:PT10M}", fixedDelayString = "${team.stats.reconcile-interval:PT10M}")
+	public void scheduledReconcile() {
+		int corrected = reconcile();
+		if (corrected > 0) {
+			log.warn("team stats reconciled: {} rows corrected", corrected);
+		}
+	}
+
+	/* 보정한 row 수 반환 */
+	@Transactional
+	public int reconcile() {
+		return reconcile(null);
+	}
+
+	/* 지정한 team 만 보정 (null 이면 전체) */
+	@Transactional
+	public int reconcile(Collection<Long> teamIds) {
+		Map<Long, TeamStats> actual = new HashMap<>();
+		for (TeamStats stats : teamIds == null ? teamStatsRepository.aggregateAll()
+				: teamStatsRepository.aggregate(teamIds)) {
+			actual.put(stats.getTeamId(), stats);
+		}
+		Map<Long, TeamStats> stored = new HashMap<>();
+		for (TeamStats stats : queryFactory.selectFrom(teamStats)
+				.where(teamIds == null ? null : teamStats.teamId.in(teamIds)).fetch()) {
+			stored.put(stats.getTeamId(), stats);
+		}
+
+		int corrected = 0;
+		List<Long> existingTeamIds = queryFactory.select(team.id).from(team)
+				.where(teamIds == null ? null : team.id.in(teamIds)).fetch();
+		for (Long teamId : existingTeamIds) {
+			TeamStats expected = actual.getOrDefault(teamId, new TeamStats(teamId));
+			TeamStats current = stored.remove(teamId);
+			if (current == null) {
+				em.persist(expected);
+				corrected++;
+			} else if (!current.sameFigures(expected)) {
+				current.copyFigures(expected);
+				corrected++;
+			}
+		}
+		/* 삭제된 team */
+		for (TeamStats orphan : stored.values()) {
+			em.remove(orphan);
+			corrected++;
+		}
+		return corrected;
+	}
+}
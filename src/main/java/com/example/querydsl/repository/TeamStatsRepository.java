@@ -0,0 +1,78 @@
+package com.example.querydsl.repository;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+import static com.example.querydsl.entity.QTeamStats.teamStats;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.querydsl.dto.TeamStatsDto;
+import com.example.querydsl.entity.TeamStats;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.CaseBuilder;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class TeamStatsRepository {
+
+	private final JPAQueryFactory queryFactory;
+
+	/* 요약 table 만 읽음 => team 수에 비례 (member 수와 무관) */
+	@Transactional(readOnly = true)
+	public List<TeamStatsDto> findAll() {
+		return queryFactory
+				.select(Projections.constructor(TeamStatsDto.class, team.id, team.name, teamStats.memberCount,
+						teamStats.ageSum, teamStats.minAge, teamStats.maxAge, teamStats.age0To20,
+						teamStats.age21To30, teamStats.ageOther))
+				.from(team).leftJoin(teamStats).on(teamStats.teamId.eq(team.id)).orderBy(team.id.asc()).fetch();
+	}
+
+	/* member table 을 직접 집계 (증분 반영 실패 시 / 정합성 보정용) */
+	public TeamStats aggregate(Long teamId) {
+		List<TeamStats> result = aggregate(member.team.id.eq(teamId));
+		return result.isEmpty() ? new TeamStats(teamId) : result.get(0);
+	}
+
+	public List<TeamStats> aggregateAll() {
+		return aggregate(member.team.isNotNull());
+	}
+
+	public List<TeamStats> aggregate(Collection<Long> teamIds) {
+		return aggregate(member.team.id.in(teamIds));
+	}
+
+	public Tuple minMaxAge(Long teamId) {
+		return queryFactory.select(member.age.min(), member.age.max()).from(member)
+				.where(member.team.id.eq(teamId)).fetchOne();
+	}
+
+	/* hibernate 는 sum 결과를 Long 으로 돌려주므로 Number 로 받아 변환 */
+	private List<TeamStats> aggregate(Predicate where) {
+		NumberExpression<Integer> band0 = new CaseBuilder().when(member.age.between(0, 20)).then(1).otherwise(0);
+		NumberExpression<Integer> band1 = new CaseBuilder().when(member.age.between(21, 30)).then(1).otherwise(0);
+		return queryFactory
+				.select(member.team.id, member.count(), member.age.sum(), member.age.min(), member.age.max(),
+						band0.sum(), band1.sum())
+				.from(member).where(where).groupBy(member.team.id).fetch().stream()
+				.map(TeamStatsRepository::toStats).collect(Collectors.toList());
+	}
+
+	private static TeamStats toStats(Tuple row) {
+		long count = row.get(1, Number.class).longValue();
+		long band0 = row.get(5, Number.class).longValue();
+		long band1 = row.get(6, Number.class).longValue();
+		return new TeamStats(row.get(0, Long.class), count, row.get(2, Number.class).longValue(),
+				row.get(3, Integer.class), row.get(4, Integer.class), band0, band1, count - band0 - band1);
+	}
+}
@@ -0,0 +1,243 @@
+package com.example.querydsl.repository;
+
+import static com.example.querydsl.entity.QTeamStats.teamStats;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceException;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.querydsl.entity.TeamStats;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+/*
+ * TeamStats 증분 반영
+ * transaction 동안 team 별 변경량만 모아 두었다가 commit 직전(beforeCommit)에 team 당 update 한 번으로 반영
+ * - 값은 set x = x + :delta 로 db 에서 더하므로 동시 transaction 끼리 덮어쓰지 않음
+ * - 최소/최대 나이는 빠지는 경우 증분으로 알 수 없으므로 해당 team 만 다시 집계
+ *   요약 row 를 select ... for update 로 잡은 뒤 집계 => 같은 team 을 바꾸는 transaction 은 commit 까지 대기하므로
+ *   다른 transaction 의 최소/최대 갱신을 이전 집계 값으로 덮어쓰지 않음
+ * - team 이 삭제되면 요약 row 도 삭제 (같은 transaction 에서 모은 그 team 의 변경량은 버림)
+ * - 요약 row 는 team 생성 transaction 에서 만들고, 없으면(기능 추가 이전 team) 별도 transaction 에서 insert
+ * - rollback 되면 모아둔 변경량도 버려짐
+ */
+@Component
+public class TeamStatsUpdater {
+
+	private final EntityManager em;
+	private final JPAQueryFactory queryFactory;
+	private final TeamStatsRepository teamStatsRepository;
+	private final TransactionTemplate newTransaction;
+
+	public TeamStatsUpdater(EntityManager em, JPAQueryFactory queryFactory, TeamStatsRepository teamStatsRepository,
+			PlatformTransactionManager transactionManager) {
+		this.em = em;
+		this.queryFactory = queryFactory;
+		this.teamStatsRepository = teamStatsRepository;
+		this.newTransaction = new TransactionTemplate(transactionManager);
+		this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	/*
+	 * post* callback 은 대부분 commit 시점 flush(beforeCommit 이후)에서 불리므로 그때 synchronization 을 등록하면 반영되지 않음
+	 * => flush 전에 불리는 callback(load / persist / remove 호출 시점)에서 미리 등록
+	 */
+	public void prepare() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()
+				&& !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			pending();
+		}
+	}
+
+	public void teamCreated(Long teamId) {
+		Pending pending = pending();
+		if (pending != null && teamId != null) {
+			pending.created.add(teamId);
+		}
+	}
+
+	public void memberAdded(Long teamId, int age) {
+		Pending pending = pending();
+		if (pending != null && teamId != null) {
+			pending.delta(teamId).add(age);
+		}
+	}
+
+	public void memberRemoved(Long teamId, Integer age) {
+		Pending pending = pending();
+		if (pending != null && teamId != null && age != null) {
+			pending.delta(teamId).remove(age);
+		}
+	}
+
+	public void teamRemoved(Long teamId) {
+		Pending pending = pending();
+		if (pending != null && teamId != null) {
+			pending.removed.add(teamId);
+		}
+	}
+
+	/* 새 team 은 빈 요약 row 를 먼저 만들고 (다른 transaction 은 아직 이 team 을 볼 수 없음) 변경량은 update 로 더함 */
+	void apply(Pending pending) {
+		boolean persisted = false;
+		for (Long teamId : pending.created) {
+			if (em.find(TeamStats.class, teamId) == null) {
+				em.persist(new TeamStats(teamId));
+				persisted = true;
+			}
+		}
+		if (persisted) {
+			em.flush();
+		}
+		for (Map.Entry<Long, Delta> entry : pending.deltas.entrySet()) {
+			if (!pending.removed.contains(entry.getKey())) {
+				apply(entry.getKey(), entry.getValue());
+			}
+		}
+		if (!pending.removed.isEmpty()) {
+			queryFactory.delete(teamStats).where(teamStats.teamId.in(pending.removed)).execute();
+		}
+	}
+
+	private void apply(Long teamId, Delta delta) {
+		if (addDelta(teamId, delta) == 0) {
+			/* 요약 row 가 없는 기존 team (기능 추가 이전 team) => row 를 만든 뒤 변경량을 다시 더함 */
+			createCommitted(teamId);
+			addDelta(teamId, delta);
+		}
+		if (delta.removed) {
+			em.find(TeamStats.class, teamId, LockModeType.PESSIMISTIC_WRITE);
+			Tuple minMax = teamStatsRepository.minMaxAge(teamId);
+			queryFactory.update(teamStats).set(teamStats.minAge, minMax.get(0, Integer.class))
+					.set(teamStats.maxAge, minMax.get(1, Integer.class)).where(teamStats.teamId.eq(teamId)).execute();
+		} else if (delta.minAdded != null) {
+			queryFactory.update(teamStats).set(teamStats.minAge, delta.minAdded)
+					.where(teamStats.teamId.eq(teamId),
+							teamStats.minAge.isNull().or(teamStats.minAge.gt(delta.minAdded)))
+					.execute();
+			queryFactory.update(teamStats).set(teamStats.maxAge, delta.maxAdded)
+					.where(teamStats.teamId.eq(teamId),
+							teamStats.maxAge.isNull().or(teamStats.maxAge.lt(delta.maxAdded)))
+					.execute();
+		}
+	}
+
+	private long addDelta(Long teamId, Delta delta) {
+		return queryFactory.update(teamStats)
+				.set(teamStats.memberCount, teamStats.memberCount.add(delta.count))
+				.set(teamStats.ageSum, teamStats.ageSum.add(delta.ageSum))
+				.set(teamStats.age0To20, teamStats.age0To20.add(delta.bands[0]))
+				.set(teamStats.age21To30, teamStats.age21To30.add(delta.bands[1]))
+				.set(teamStats.ageOther, teamStats.ageOther.add(delta.bands[2]))
+				.where(teamStats.teamId.eq(teamId)).execute();
+	}
+
+	/*
+	 * 별도 transaction 에서 commit 된 member 만으로 집계한 row 를 insert (이 transaction 의 변경은 이후 delta 로 더함)
+	 * 같은 team 의 row 를 동시에 만든 transaction 이 있으면 pk 충돌 => 이미 있으므로 무시하고 delta 만 더함
+	 * (예전처럼 현재 transaction 에서 persist 하면 충돌 시 member 변경까지 rollback 됨)
+	 */
+	private void createCommitted(Long teamId) {
+		try {
+			newTransaction.executeWithoutResult(status -> {
+				if (em.find(TeamStats.class, teamId) == null) {
+					em.persist(teamStatsRepository.aggregate(teamId));
+					em.flush();
+				}
+			});
+		} catch (PersistenceException | DataIntegrityViolationException e) {
+			/* 다른 transaction 이 먼저 만듦 (flush 예외는 번역되지 않은 PersistenceException) */
+		}
+	}
+
+	/* transaction 이 없으면 (읽기 전용 조회 등) null => 반영하지 않음 */
+	private Pending pending() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return null;
+		}
+		Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+		if (pending == null) {
+			pending = new Pending();
+			TransactionSynchronizationManager.bindResource(this, pending);
+			TransactionSynchronizationManager.registerSynchronization(new PendingSynchronization(pending));
+		}
+		return pending;
+	}
+
+	private class PendingSynchronization implements TransactionSynchronization {
+
+		private final Pending pending;
+
+		PendingSynchronization(Pending pending) {
+			this.pending = pending;
+		}
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			if (readOnly) {
+				return;
+			}
+			/* commit 시점 flush 에서 나올 변경까지 먼저 모음 */
+			em.flush();
+			if (!pending.isEmpty()) {
+				apply(pending);
+			}
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(TeamStatsUpdater.this);
+		}
+	}
+
+	static class Pending {
+		final Set<Long> created = new LinkedHashSet<>();
+		final Set<Long> removed = new LinkedHashSet<>();
+		final Map<Long, Delta> deltas = new LinkedHashMap<>();
+
+		Delta delta(Long teamId) {
+			return deltas.computeIfAbsent(teamId, id -> new Delta());
+		}
+
+		boolean isEmpty() {
+			return created.isEmpty() && removed.isEmpty() && deltas.isEmpty();
+		}
+	}
+
+	static class Delta {
+		long count;
+		long ageSum;
+		final long[] bands = new long[3];
+		boolean removed;
+		Integer minAdded;
+		Integer maxAdded;
+
+		void add(int age) {
+			count++;
+			ageSum += age;
+			bands[TeamStats.ageBand(age)]++;
+			minAdded = minAdded == null ? age : Math.min(minAdded, age);
+			maxAdded = maxAdded == null ? age : Math.max(maxAdded, age);
+		}
+
+		void remove(int age) {
+			count--;
+			ageSum -= age;
+			bands[TeamStats.ageBand(age)]--;
+			removed = true;
+		}
+	}
+}
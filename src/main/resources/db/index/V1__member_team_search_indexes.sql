@@ -0,0 +1,15 @@
+-- MemberSearchCondition 검색용 index (entity @Table(indexes) 와 동일하게 유지)
+-- ddl-auto: create 환경은 hibernate 가 생성, schema 를 직접 관리하는 환경(validate / none)은 이 파일을 적용
+-- h2, postgresql 공통 문법
+
+-- userName 일치
+create index if not exists idx_member_username on member (username);
+
+-- ageGoe / ageLoe 범위 (다른 조건 없이 나이만)
+create index if not exists idx_member_age on member (age);
+
+-- teamName 조건 join + 나이 범위, team_id 단독(fk) 조회도 선두 컬럼으로 사용
+create index if not exists idx_member_team_age on member (team_id, age);
+
+-- teamName 일치
+create index if not exists idx_team_name on team (name);
@@ -0,0 +1,105 @@
+package com.example.querydsl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.querydsl.config.VirtualThreads;
+import com.example.querydsl.monitoring.AllocationMetrics;
+import com.example.querydsl.monitoring.AllocationRegistry;
+import com.example.querydsl.monitoring.ThreadAllocation;
+
+public class AllocationMetricsTest {
+
+	@Test
+	public void flagsRegressionAgainstBaseline() {
+		AllocationMetrics metrics = new AllocationMetrics("GET /v3/members", 10, 0.25);
+		/* 10 번 warm-up (기준값 제외) + 10 번 기준값 : row 당 1000 byte */
+		for (int i = 0; i < 20; i++) {
+			metrics.record(20_000, 20);
+		}
+		assertThat(metrics.snapshot().getBaselineBytesPerRow()).isEqualTo(1000.0);
+		assertThat(metrics.snapshot().isRegressed()).isFalse();
+
+		/* row 당 2000 byte 로 증가 */
+		for (int i = 0; i < 100; i++) {
+			metrics.record(40_000, 20);
+		}
+		AllocationMetrics.Snapshot snapshot = metrics.snapshot();
+		assertThat(snapshot.getRecentBytesPerRow()).isGreaterThan(1250.0);
+		assertThat(snapshot.isRegressed()).isTrue();
+		assertThat(snapshot.getCount()).isEqualTo(120);
+		assertThat(snapshot.getRows()).isEqualTo(2400);
+
+		metrics.rebaseline();
+		assertThat(metrics.snapshot().isRegressed()).isFalse();
+	}
+
+	@Test
+	public void warmUpCallsDoNotSetBaseline() {
+		AllocationMetrics metrics = new AllocationMetrics("GET /v1/members", 10, 0.25);
+		for (int i = 0; i < 15; i++) {
+			metrics.record(1_000_000, 1);
+		}
+		assertThat(metrics.snapshot().getBaselineBytesPerRow()).isEqualTo(-1.0);
+		assertThat(metrics.snapshot().isRegressed()).isFalse();
+	}
+
+	/* lock 없이 여러 thread 가 동시에 기록해도 건수, 기준값, 이동 평균이 맞음 */
+	@Test
+	public void concurrentRecordsAreNotLost() throws InterruptedException {
+		AllocationMetrics metrics = new AllocationMetrics("GET /v2/members", 100, 0.25);
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 1000; i++) {
+					metrics.record(5_000, 10);
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		AllocationMetrics.Snapshot snapshot = metrics.snapshot();
+		assertThat(snapshot.getCount()).isEqualTo(4000);
+		assertThat(snapshot.getRows()).isEqualTo(40_000);
+		assertThat(snapshot.getBaselineBytesPerRow()).isEqualTo(500.0);
+		assertThat(snapshot.getRecentBytesPerRow()).isEqualTo(500.0);
+	}
+
+	@Test
+	public void measuresCurrentThread() {
+		long before = ThreadAllocation.currentBytes();
+		byte[] garbage = new byte[1 << 20];
+		long allocated = ThreadAllocation.currentBytes() - before;
+
+		assertThat(garbage).hasSize(1 << 20);
+		assertThat(allocated).isGreaterThanOrEqualTo(1 << 20);
+	}
+
+	/* virtual thread 는 측정 불가 => 0 byte 로 기록되지 않고 꺼진 것으로 보고 */
+	@Test
+	public void virtualThreadIsNotMeasured() throws InterruptedException {
+		assumeTrue(VirtualThreads.isSupported());
+		AllocationRegistry registry = new AllocationRegistry(true, 10, 0.25);
+		AtomicLong bytes = new AtomicLong();
+		AtomicReference<AllocationRegistry.Report> report = new AtomicReference<>();
+
+		Thread thread = VirtualThreads.factory("allocation-test-").newThread(() -> {
+			bytes.set(ThreadAllocation.currentBytes());
+			report.set(registry.report());
+		});
+		thread.start();
+		thread.join();
+
+		assertThat(bytes.get()).isEqualTo(-1);
+		assertThat(report.get().isEnabled()).isFalse();
+		assertThat(registry.isEnabled()).isEqualTo(ThreadAllocation.isSupported());
+	}
+}
@@ -0,0 +1,62 @@
+package com.example.querydsl;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.querydsl.config.AsyncQueryExecutor;
+
+/* executor thread 1개, queue 0 => 하나만 실행 중이어도 다음 요청은 503 */
+@SpringBootTest(properties = { "member.search.async.pool-size=1", "member.search.async.queue-capacity=0" })
+@AutoConfigureMockMvc
+public class AsyncMemberControllerTest {
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	AsyncQueryExecutor asyncQueryExecutor;
+
+	@Test
+	public void searchRunsAsync() throws Exception {
+		MvcResult started = mockMvc.perform(get("/async/v2/members").param("size", "5"))
+				.andExpect(request().asyncStarted()).andReturn();
+
+		mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.content").isArray());
+	}
+
+	@Test
+	public void saturatedExecutorReturns503() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Boolean> blocker = asyncQueryExecutor.supply(() -> {
+			try {
+				return release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		});
+		try {
+			mockMvc.perform(get("/async/v1/members")).andExpect(status().isServiceUnavailable())
+					.andExpect(header().string("Retry-After", "1"));
+		} finally {
+			release.countDown();
+			blocker.join();
+		}
+	}
+}
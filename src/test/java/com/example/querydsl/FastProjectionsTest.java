@@ -0,0 +1,79 @@
+package com.example.querydsl;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.querydsl.dto.MemberDto;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.dto.UserDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.projection.FastProjections;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+@SpringBootTest
+@Transactional
+public class FastProjectionsTest {
+
+	@Autowired
+	EntityManager em;
+
+	JPAQueryFactory queryFactory;
+
+	@BeforeEach
+	public void before() {
+		queryFactory = new JPAQueryFactory(em);
+		Team teamA = new Team("teamA");
+		Team teamB = new Team("teamB");
+		em.persist(teamA);
+		em.persist(teamB);
+
+		em.persist(new Member("member1", 10, teamA));
+		em.persist(new Member("member2", 20, teamB));
+		em.persist(new Member("member3", 30, teamA));
+		em.persist(new Member("member4", 40, teamB));
+	}
+
+	@Test
+	public void beanSameAsProjectionsBean() {
+		List<MemberDto> expected = queryFactory.select(Projections.bean(MemberDto.class, member.username, member.age))
+				.from(member).orderBy(member.id.asc()).fetch();
+		List<MemberDto> result = queryFactory.select(FastProjections.bean(MemberDto.class, member.username, member.age))
+				.from(member).orderBy(member.id.asc()).fetch();
+
+		assertThat(result).isEqualTo(expected);
+	}
+
+	@Test
+	public void fieldsWithAlias() {
+		List<UserDto> result = queryFactory
+				.select(FastProjections.fields(UserDto.class, member.username.as("name"), member.age))
+				.from(member).orderBy(member.id.asc()).fetch();
+
+		assertThat(result).extracting("name").containsExactly("member1", "member2", "member3", "member4");
+		assertThat(result).extracting("age").containsExactly(10, 20, 30, 40);
+	}
+
+	@Test
+	public void constructor() {
+		List<MemberTeamDto> result = queryFactory
+				.select(FastProjections.constructor(MemberTeamDto.class, member.id, member.username, member.age,
+						team.id, team.name))
+				.from(member).leftJoin(member.team, team).orderBy(member.id.asc()).fetch();
+
+		assertThat(result).extracting("username").containsExactly("member1", "member2", "member3", "member4");
+		assertThat(result).extracting("teamName").containsExactly("teamA", "teamB", "teamA", "teamB");
+	}
+}
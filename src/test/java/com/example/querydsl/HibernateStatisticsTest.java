@@ -0,0 +1,79 @@
+package com.example.querydsl;
+
+import static com.example.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.monitoring.HibernateStatistics;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+@SpringBootTest
+@Transactional
+public class HibernateStatisticsTest {
+
+	@Autowired
+	EntityManager em;
+
+	@Autowired
+	JPAQueryFactory queryFactory;
+
+	@Autowired
+	HibernateStatistics hibernateStatistics;
+
+	@BeforeEach
+	public void before() {
+		hibernateStatistics.setEnabled(true);
+		hibernateStatistics.reset();
+	}
+
+	@AfterEach
+	public void after() {
+		hibernateStatistics.setEnabled(false);
+	}
+
+	@Test
+	public void reportsEntityAndQueryStatistics() {
+		Team team = new Team("statsTeam");
+		em.persist(team);
+		em.persist(new Member("statsMember1", 10, team));
+		em.persist(new Member("statsMember2", 20, team));
+		em.flush();
+		em.clear();
+
+		queryFactory.selectFrom(member).where(member.username.startsWith("statsMember")).fetch();
+		queryFactory.selectFrom(member).where(member.username.startsWith("statsMember")).fetch();
+
+		HibernateStatistics.Report report = hibernateStatistics.report(10);
+		assertThat(report.isEnabled()).isTrue();
+		assertThat(report.getFlushes()).isGreaterThanOrEqualTo(1);
+
+		HibernateStatistics.Entity memberStats = entity(report, "Member");
+		assertThat(memberStats.getInserts()).isEqualTo(2);
+		assertThat(memberStats.getLoads()).isGreaterThanOrEqualTo(2);
+		assertThat(entity(report, "Team").getInserts()).isEqualTo(1);
+
+		assertThat(report.getQueries()).anySatisfy(query -> {
+			assertThat(query.getJpql()).contains("member1.username like");
+			assertThat(query.getExecutions()).isEqualTo(2);
+			assertThat(query.getRows()).isEqualTo(4);
+		});
+
+		hibernateStatistics.reset();
+		assertThat(entity(hibernateStatistics.report(10), "Member").getInserts()).isZero();
+		assertThat(hibernateStatistics.report(10).getQueries()).isEmpty();
+	}
+
+	private static HibernateStatistics.Entity entity(HibernateStatistics.Report report, String name) {
+		return report.getEntities().stream().filter(entity -> entity.getName().equals(name)).findFirst().get();
+	}
+}
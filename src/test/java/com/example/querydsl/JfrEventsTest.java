@@ -0,0 +1,97 @@
+package com.example.querydsl;
+
+import static com.example.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.FilteredClassLoader;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.monitoring.JfrConnectionListener;
+import com.example.querydsl.monitoring.JfrEventsConfig;
+import com.example.querydsl.monitoring.JfrQueryListener;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@SpringBootTest
+@Transactional
+public class JfrEventsTest {
+
+	@Autowired
+	EntityManager em;
+
+	@Autowired
+	JPAQueryFactory queryFactory;
+
+	@Test
+	public void recordsQueryAndFlushEvents() throws IOException {
+		Team team = new Team("jfrTeam");
+		em.persist(team);
+		Member member1 = new Member("jfrMember", 10, team);
+		em.persist(member1);
+		em.flush();
+
+		List<RecordedEvent> events;
+		try (Recording recording = new Recording()) {
+			recording.enable("com.example.querydsl.QueryExecution").withThreshold(Duration.ZERO);
+			recording.enable("com.example.querydsl.Flush").withThreshold(Duration.ZERO);
+			recording.start();
+
+			member1.setAge(11);
+			/* query 전 auto flush (dirty 1) + query */
+			queryFactory.selectFrom(member).where(member.username.eq("jfrMember")).fetch();
+
+			recording.stop();
+			Path file = Files.createTempFile("querydsl", ".jfr");
+			try {
+				recording.dump(file);
+				events = RecordingFile.readAllEvents(file);
+			} finally {
+				Files.deleteIfExists(file);
+			}
+		}
+
+		List<RecordedEvent> queries = named(events, "com.example.querydsl.QueryExecution");
+		assertThat(queries).hasSize(1);
+		assertThat(queries.get(0).getString("operation")).isEqualTo("fetch");
+		assertThat(queries.get(0).getString("jpql")).contains("from Member member1");
+		assertThat(queries.get(0).getLong("rows")).isEqualTo(1);
+
+		List<RecordedEvent> flushes = named(events, "com.example.querydsl.Flush");
+		assertThat(flushes).isNotEmpty();
+		assertThat(flushes.get(0).getBoolean("auto")).isTrue();
+		assertThat(flushes.get(0).getInt("dirty")).isEqualTo(1);
+	}
+
+	private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+		return events.stream().filter(event -> event.getEventType().getName().equals(name)).collect(Collectors.toList());
+	}
+
+	/* jdk.jfr 가 없는 JRE => JFR 관련 bean 을 등록하지 않음 */
+	@Test
+	public void jfrBeansAreSkippedWithoutJfr() {
+		new ApplicationContextRunner().withClassLoader(new FilteredClassLoader("jdk.jfr"))
+				.withUserConfiguration(JfrEventsConfig.class, JfrQueryListener.class, JfrConnectionListener.class)
+				.run(context -> assertThat(context).hasNotFailed()
+						.doesNotHaveBean(JfrEventsConfig.class)
+						.doesNotHaveBean(JfrQueryListener.class)
+						.doesNotHaveBean(JfrConnectionListener.class));
+	}
+}
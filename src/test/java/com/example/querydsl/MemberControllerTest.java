@@ -0,0 +1,41 @@
+package com.example.querydsl;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/* 잘못된 요청은 400, 응답 본문에 내부 예외 message 를 그대로 내보내지 않음 */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class MemberControllerTest {
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Test
+	public void invalidCursorIsBadRequest() throws Exception {
+		mockMvc.perform(get("/v4/members").param("cursor", "not-a-cursor"))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().string("invalid cursor"));
+	}
+
+	@Test
+	public void nonPositiveSizeIsBadRequest() throws Exception {
+		mockMvc.perform(get("/v4/members").param("size", "0"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void unsupportedExportFormatIsBadRequest() throws Exception {
+		mockMvc.perform(get("/v1/members/export").param("format", "xml"))
+				.andExpect(status().isBadRequest());
+	}
+}
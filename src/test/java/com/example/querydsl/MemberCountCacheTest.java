@@ -0,0 +1,96 @@
+package com.example.querydsl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.repository.MemberCountCache;
+import com.example.querydsl.repository.MemberCountCacheInvalidator;
+import com.p6spy.engine.common.StatementInformation;
+
+public class MemberCountCacheTest {
+
+	@Test
+	public void cacheByNormalizedCondition() {
+		MemberCountCache cache = new MemberCountCache(10, Duration.ofMinutes(1));
+		AtomicInteger executed = new AtomicInteger();
+
+		MemberSearchCondition condition1 = new MemberSearchCondition();
+		condition1.setTeamName("teamA");
+		condition1.setUserName(" ");
+		MemberSearchCondition condition2 = new MemberSearchCondition();
+		condition2.setTeamName("teamA");
+
+		assertThat(cache.get(condition1, () -> executed.incrementAndGet() * 10L)).isEqualTo(10L);
+		assertThat(cache.get(condition2, () -> executed.incrementAndGet() * 10L)).isEqualTo(10L);
+		assertThat(executed.get()).isEqualTo(1);
+
+		MemberCountCache.Stats stats = cache.stats();
+		assertThat(stats.getHits()).isEqualTo(1);
+		assertThat(stats.getMisses()).isEqualTo(1);
+	}
+
+	@Test
+	public void invalidateAll() {
+		MemberCountCache cache = new MemberCountCache(10, Duration.ofMinutes(1));
+		MemberSearchCondition condition = new MemberSearchCondition();
+
+		cache.get(condition, () -> 3L);
+		cache.invalidateAll();
+
+		assertThat(cache.get(condition, () -> 4L)).isEqualTo(4L);
+		assertThat(cache.stats().getInvalidations()).isEqualTo(1);
+	}
+
+	@Test
+	public void writeOutsideTransactionInvalidatesImmediately() {
+		MemberCountCache cache = new MemberCountCache(10, Duration.ofMinutes(1));
+		MemberCountCacheInvalidator invalidator = new MemberCountCacheInvalidator(cache);
+		MemberSearchCondition condition = new MemberSearchCondition();
+
+		cache.get(condition, () -> 3L);
+		invalidator.onAfterAnyExecute(statement("delete from member where member_id=1"), 0, null);
+
+		assertThat(cache.get(condition, () -> 2L)).isEqualTo(2L);
+	}
+
+	/* commit 전에 다른 요청이 이전 count 를 다시 cache 해도 commit 후 invalidate */
+	@Test
+	public void writeInTransactionInvalidatesAgainAfterCommit() {
+		MemberCountCache cache = new MemberCountCache(10, Duration.ofMinutes(1));
+		MemberCountCacheInvalidator invalidator = new MemberCountCacheInvalidator(cache);
+		MemberSearchCondition condition = new MemberSearchCondition();
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			invalidator.onAfterAnyExecute(statement("insert into member (age) values (?)"), 0, null);
+			invalidator.onAfterAnyExecute(statement("update member set age=? where member_id=?"), 0, null);
+			assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+			assertThat(cache.get(condition, () -> 3L)).isEqualTo(3L);
+
+			TransactionSynchronizationUtils.triggerAfterCommit();
+			TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+					TransactionSynchronization.STATUS_COMMITTED);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertThat(cache.get(condition, () -> 4L)).isEqualTo(4L);
+		assertThat(TransactionSynchronizationManager.hasResource(invalidator)).isFalse();
+	}
+
+	private static StatementInformation statement(String sql) {
+		StatementInformation statement = mock(StatementInformation.class);
+		when(statement.getSql()).thenReturn(sql);
+		return statement;
+	}
+}
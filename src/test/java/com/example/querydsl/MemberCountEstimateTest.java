@@ -0,0 +1,93 @@
+package com.example.querydsl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+import java.util.OptionalLong;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.querydsl.dto.CountedPage;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.repository.CountMode;
+import com.example.querydsl.repository.MemberCountEstimator;
+import com.example.querydsl.repository.MemberRepository;
+import com.example.querydsl.repository.PagingStrategy;
+
+/*
+ * 추정 total 이 실제 content 와 모순되면 보정
+ * 보정 규칙만 확인하기 위해 estimator 는 mock (실제 추정 sql 은 MemberCountEstimatorTest)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class MemberCountEstimateTest {
+
+	@Autowired
+	EntityManager em;
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@MockBean
+	MemberCountEstimator countEstimator;
+
+	@BeforeEach
+	public void before() {
+		for (int i = 0; i < 10; i++) {
+			em.persist(new Member("member" + i, i * 10));
+		}
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	public void lowEstimateIsRaisedForFullPage() {
+		given(countEstimator.estimate(any(), any())).willReturn(OptionalLong.of(1));
+
+		CountedPage<MemberTeamDto> page = search(PageRequest.of(1, 3));
+
+		assertThat(page.getContent()).hasSize(3);
+		assertThat(page.isTotalExact()).isFalse();
+		assertThat(page.getTotalElements()).isEqualTo(7);
+		assertThat(page.hasNext()).isTrue();
+	}
+
+	@Test
+	public void highEstimateIsLoweredForEmptyPage() {
+		given(countEstimator.estimate(any(), any())).willReturn(OptionalLong.of(1000));
+
+		CountedPage<MemberTeamDto> page = search(PageRequest.of(5, 3));
+
+		assertThat(page.getContent()).isEmpty();
+		assertThat(page.getTotalElements()).isEqualTo(15);
+		assertThat(page.hasNext()).isFalse();
+	}
+
+	@Test
+	public void plausibleEstimateIsKept() {
+		given(countEstimator.estimate(any(), any())).willReturn(OptionalLong.of(12));
+
+		CountedPage<MemberTeamDto> page = search(PageRequest.of(1, 3));
+
+		assertThat(page.getTotalElements()).isEqualTo(12);
+		assertThat(page.isTotalExact()).isFalse();
+	}
+
+	private CountedPage<MemberTeamDto> search(PageRequest pageable) {
+		return (CountedPage<MemberTeamDto>) memberRepository.searchPageComplex(new MemberSearchCondition(), pageable,
+				CountMode.SAMPLED, PagingStrategy.SINGLE_QUERY);
+	}
+}
@@ -0,0 +1,99 @@
+package com.example.querydsl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.OptionalLong;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.querydsl.dto.CountedPage;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.repository.CountMode;
+import com.example.querydsl.repository.MemberCountCache;
+import com.example.querydsl.repository.MemberCountEstimator;
+import com.example.querydsl.repository.MemberRepository;
+import com.example.querydsl.repository.PagingStrategy;
+
+/*
+ * test db(h2) 에서 실제 추정 sql 실행
+ * - SAMPLED : sample 구간의 일치 비율 * 테이블 예상 row 수 => 0 ~ 테이블 예상 row 수 사이
+ * - PLANNER : h2 에는 EXPLAIN rows 가 없으므로 sampled 로 대체, sample 보다 작은 테이블이면 exact count
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class MemberCountEstimatorTest {
+
+	@Autowired
+	EntityManager em;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	MemberCountEstimator countEstimator;
+
+	@Autowired
+	MemberCountCache countCache;
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@BeforeEach
+	public void before() {
+		for (int i = 0; i < 20; i++) {
+			em.persist(new Member("member" + i, i * 5));
+		}
+		em.flush();
+		em.clear();
+		countCache.invalidateAll();
+	}
+
+	@Test
+	public void sampledEstimateIsBoundedByTableRows() {
+		MemberCountEstimator smallSample = new MemberCountEstimator(jdbcTemplate, 5);
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setAgeGoe(50);
+
+		OptionalLong estimate = smallSample.estimate(condition, CountMode.SAMPLED);
+
+		Long tableRows = jdbcTemplate.queryForObject(
+				"select row_count_estimate from information_schema.tables where lower(table_name) = 'member'",
+				Long.class);
+		assertThat(estimate).isPresent();
+		assertThat(estimate.getAsLong()).isBetween(0L, tableRows);
+	}
+
+	@Test
+	public void sampledEstimateWithoutConditionIsTableRows() {
+		OptionalLong estimate = countEstimator.estimate(new MemberSearchCondition(), CountMode.SAMPLED);
+
+		assertThat(estimate).isPresent();
+		assertThat(estimate.getAsLong()).isGreaterThanOrEqualTo(20);
+	}
+
+	@Test
+	public void plannerFallsBackToExactCountOnH2() {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setAgeGoe(50);
+
+		assertThat(countEstimator.estimate(condition, CountMode.PLANNER)).isEmpty();
+
+		CountedPage<MemberTeamDto> page = (CountedPage<MemberTeamDto>) memberRepository.searchPageComplex(condition,
+				PageRequest.of(1, 3), CountMode.PLANNER, PagingStrategy.SINGLE_QUERY);
+		Long exact = jdbcTemplate.queryForObject("select count(*) from member where age >= 50", Long.class);
+		assertThat(page.isTotalExact()).isTrue();
+		assertThat(page.getTotalElements()).isEqualTo(exact);
+	}
+}
@@ -0,0 +1,173 @@
+package com.example.querydsl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.repository.CountMode;
+import com.example.querydsl.repository.MemberCountCache;
+import com.example.querydsl.repository.MemberRepository;
+import com.example.querydsl.repository.PagingStrategy;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.querydsl.SqlCaptureInspector")
+@ActiveProfiles("test")
+@Transactional
+public class MemberCountQueryTest {
+
+	@Autowired
+	EntityManager em;
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@Autowired
+	MemberCountCache countCache;
+
+	@BeforeEach
+	public void before() {
+		Team teamA = new Team("teamA");
+		Team teamB = new Team("teamB");
+		em.persist(teamA);
+		em.persist(teamB);
+		for (int i = 0; i < 10; i++) {
+			em.persist(new Member("member" + i, i * 10, i % 2 == 0 ? teamA : teamB));
+		}
+		em.flush();
+		em.clear();
+		SqlCaptureInspector.clear();
+	}
+
+	@Test
+	public void countWithoutTeamConditionHasNoJoin() {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setAgeGoe(20);
+
+		Page<MemberTeamDto> result = memberRepository.searchPageComplex(condition, PageRequest.of(0, 3));
+
+		assertThat(result.getTotalElements()).isEqualTo(8);
+		List<String> counts = SqlCaptureInspector.startingWith("select count(");
+		assertThat(counts).hasSize(1);
+		assertThat(counts.get(0).toLowerCase()).contains("count(member0_.member_id)").doesNotContain("join")
+				.doesNotContain("order by");
+	}
+
+	@Test
+	public void countWithTeamConditionJoinsTeam() {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName("teamA");
+
+		Page<MemberTeamDto> result = memberRepository.searchPageSimple(condition, PageRequest.of(0, 3));
+
+		assertThat(result.getTotalElements()).isEqualTo(5);
+		List<String> counts = SqlCaptureInspector.startingWith("select count(");
+		assertThat(counts).hasSize(1);
+		assertThat(counts.get(0).toLowerCase()).contains("inner join team").doesNotContain("order by");
+	}
+
+	/* native count(*) over() 결과 == SINGLE_QUERY (content, total, 범위를 넘은 offset 의 count fallback) */
+	@Test
+	public void windowCountMatchesSingleQuery() {
+		em.persist(new Member("noTeam", 35));
+		em.flush();
+		em.clear();
+		MemberSearchCondition all = new MemberSearchCondition();
+		MemberSearchCondition teamA = new MemberSearchCondition();
+		teamA.setTeamName("teamA");
+		teamA.setAgeGoe(20);
+
+		for (MemberSearchCondition condition : new MemberSearchCondition[] { all, teamA }) {
+			for (int page = 0; page < 6; page++) {
+				Page<MemberTeamDto> window = page(condition, page, CountMode.EXACT, PagingStrategy.WINDOW_COUNT);
+				Page<MemberTeamDto> single = page(condition, page, CountMode.EXACT, PagingStrategy.SINGLE_QUERY);
+				assertThat(window.getContent()).isEqualTo(single.getContent());
+				assertThat(window.getTotalElements()).isEqualTo(single.getTotalElements());
+			}
+		}
+		assertThat(page(all, 5, CountMode.EXACT, PagingStrategy.WINDOW_COUNT).getTotalElements()).isEqualTo(11);
+	}
+
+	/* cache 에 이전 count 가 남아 있어도 window total 을 쓰고 cache 를 그 값으로 갱신 */
+	@Test
+	public void windowCountOverridesStaleCachedCount() {
+		MemberSearchCondition teamA = new MemberSearchCondition();
+		teamA.setTeamName("teamA");
+		countCache.invalidateAll();
+		countCache.get(teamA, () -> 999L);
+
+		Page<MemberTeamDto> result = memberRepository.searchPageComplex(teamA, PageRequest.of(0, 3), CountMode.EXACT,
+				PagingStrategy.WINDOW_COUNT);
+
+		assertThat(result.getTotalElements()).isEqualTo(5);
+		assertThat(countCache.peek(teamA)).hasValue(5);
+	}
+
+	/* id 먼저 조회 후 join 한 결과 == SINGLE_QUERY (조건 조합, page 크기, 범위를 넘은 offset) */
+	@Test
+	public void deferredJoinMatchesSingleQuery() {
+		em.persist(new Member("noTeam", 35));
+		em.flush();
+		em.clear();
+		MemberSearchCondition all = new MemberSearchCondition();
+		MemberSearchCondition teamA = new MemberSearchCondition();
+		teamA.setTeamName("teamA");
+		MemberSearchCondition ageRange = new MemberSearchCondition();
+		ageRange.setAgeGoe(20);
+		ageRange.setAgeLoe(70);
+		MemberSearchCondition teamBAge = new MemberSearchCondition();
+		teamBAge.setTeamName("teamB");
+		teamBAge.setAgeGoe(30);
+		MemberSearchCondition userName = new MemberSearchCondition();
+		userName.setUserName("member3");
+
+		for (MemberSearchCondition condition : new MemberSearchCondition[] { all, teamA, ageRange, teamBAge,
+				userName }) {
+			for (int size : new int[] { 2, 3, 4 }) {
+				for (int page = 0; page < 7; page++) {
+					Page<MemberTeamDto> deferred = page(condition, PageRequest.of(page, size),
+							PagingStrategy.DEFERRED_JOIN);
+					Page<MemberTeamDto> single = page(condition, PageRequest.of(page, size),
+							PagingStrategy.SINGLE_QUERY);
+					assertThat(deferred.getContent()).isEqualTo(single.getContent());
+					assertThat(deferred.getTotalElements()).isEqualTo(single.getTotalElements());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void windowCountWithEstimateFallsBackToSingleQuery() {
+		SqlCaptureInspector.clear();
+
+		page(new MemberSearchCondition(), 1, CountMode.SAMPLED, PagingStrategy.WINDOW_COUNT);
+
+		assertThat(SqlCaptureInspector.startingWith("select m.member_id")).isEmpty();
+	}
+
+	/* count cache 를 비워 두 방식이 각자 total 을 계산하도록 함 */
+	private Page<MemberTeamDto> page(MemberSearchCondition condition, int page, CountMode countMode,
+			PagingStrategy pagingStrategy) {
+		countCache.invalidateAll();
+		return memberRepository.searchPageComplex(condition, PageRequest.of(page, 3), countMode, pagingStrategy);
+	}
+
+	private Page<MemberTeamDto> page(MemberSearchCondition condition, PageRequest pageable,
+			PagingStrategy pagingStrategy) {
+		countCache.invalidateAll();
+		return memberRepository.searchPageComplex(condition, pageable, CountMode.EXACT, pagingStrategy);
+	}
+}
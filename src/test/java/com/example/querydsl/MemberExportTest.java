@@ -0,0 +1,78 @@
+package com.example.querydsl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+
+/* export 응답 byte 그대로 비교 (ndjson 은 한 줄에 row 하나, 앞뒤 공백 없음) */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class MemberExportTest {
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	EntityManager em;
+
+	Team team;
+	Member member1;
+	Member member2;
+
+	@BeforeEach
+	public void before() {
+		team = new Team("exportTeam");
+		em.persist(team);
+		member1 = new Member("member1", 10, team);
+		member2 = new Member("member2", 20, team);
+		em.persist(member1);
+		em.persist(member2);
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	public void ndjsonHasOneRowPerLine() throws Exception {
+		byte[] body = mockMvc.perform(get("/v1/members/export").param("teamName", "exportTeam"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray();
+
+		String expected = json(member1) + "\n" + json(member2) + "\n";
+		assertThat(body).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void csvHasHeaderAndOneRowPerLine() throws Exception {
+		byte[] body = mockMvc.perform(get("/v1/members/export").param("teamName", "exportTeam").param("format", "csv"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray();
+
+		String expected = "memberId,username,age,teamId,teamName\n"
+				+ member1.getId() + ",member1,10," + team.getId() + ",exportTeam\n"
+				+ member2.getId() + ",member2,20," + team.getId() + ",exportTeam\n";
+		assertThat(body).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private String json(Member member) {
+		return "{\"memberId\":" + member.getId() + ",\"username\":\"" + member.getUsername() + "\",\"age\":"
+				+ member.getAge() + ",\"teamId\":" + team.getId() + ",\"teamName\":\"exportTeam\"}";
+	}
+}
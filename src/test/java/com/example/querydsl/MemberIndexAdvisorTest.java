@@ -0,0 +1,72 @@
+package com.example.querydsl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.repository.MemberIndexAdvisor;
+
+public class MemberIndexAdvisorTest {
+
+	@Test
+	public void reportsUsageByCombination() {
+		MemberIndexAdvisor advisor = new MemberIndexAdvisor(0.05);
+		for (int i = 0; i < 3; i++) {
+			advisor.record(condition(null, "teamA", 20, 30));
+		}
+		advisor.record(condition("member1", null, null, null));
+
+		MemberIndexAdvisor.Report report = advisor.report();
+
+		assertThat(report.getTotalCalls()).isEqualTo(4);
+		MemberIndexAdvisor.Usage top = report.getUsages().get(0);
+		assertThat(top.getCondition()).isEqualTo("teamName+ageGoe+ageLoe");
+		assertThat(top.getShare()).isEqualTo(0.75);
+		assertThat(top.getWantedIndexes()).containsExactly("member (team_id, age)", "team (name)");
+		/* entity @Table(indexes) 로 이미 모두 있음 */
+		assertThat(top.getMissingIndexes()).isEmpty();
+		assertThat(report.getSuggestions()).isEmpty();
+	}
+
+	/* username + age 는 기존 index (username) 선두 컬럼과 맞지 않음 => 제안 */
+	@Test
+	public void suggestsIndexForUncoveredCombination() {
+		MemberIndexAdvisor advisor = new MemberIndexAdvisor(0.05);
+		for (int i = 0; i < 5; i++) {
+			advisor.record(condition("member1", null, 20, null));
+		}
+		advisor.record(condition("member1", null, null, null));
+
+		MemberIndexAdvisor.Report report = advisor.report();
+
+		MemberIndexAdvisor.Usage top = report.getUsages().get(0);
+		assertThat(top.getCondition()).isEqualTo("userName+ageGoe");
+		assertThat(top.getWantedIndexes()).containsExactly("member (username, age)");
+		assertThat(top.getMissingIndexes()).containsExactly("member (username, age)");
+		assertThat(report.getUsages().get(1).getMissingIndexes()).isEmpty();
+		assertThat(report.getSuggestions()).hasSize(1);
+		assertThat(report.getSuggestions().get(0).getDdl())
+				.isEqualTo("create index idx_member_username_age on member (username, age)");
+		assertThat(report.getSuggestions().get(0).getCalls()).isEqualTo(5);
+	}
+
+	@Test
+	public void unconditionalSearchNeedsNoIndex() {
+		MemberIndexAdvisor advisor = new MemberIndexAdvisor(0.05);
+		advisor.record(new MemberSearchCondition());
+
+		MemberIndexAdvisor.Usage usage = advisor.report().getUsages().get(0);
+		assertThat(usage.getCondition()).isEqualTo("none");
+		assertThat(usage.getWantedIndexes()).isEmpty();
+	}
+
+	private static MemberSearchCondition condition(String userName, String teamName, Integer ageGoe, Integer ageLoe) {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setUserName(userName);
+		condition.setTeamName(teamName);
+		condition.setAgeGoe(ageGoe);
+		condition.setAgeLoe(ageLoe);
+		return condition;
+	}
+}
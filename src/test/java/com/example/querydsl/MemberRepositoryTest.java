@@ -15,6 +15,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberSlice;
 import com.example.querydsl.dto.MemberTeamDto;
 import com.example.querydsl.entity.Member;
 import com.example.querydsl.entity.Team;
@@ -92,4 +93,30 @@ public class MemberRepositoryTest {
 		
 	}
 	
+	@Test
+	public void searchSliceTest() {
+		Team teamA = new Team("teamA");
+		Team teamB = new Team("teamB");
+		em.persist(teamA);
+		em.persist(teamB);
+
+		em.persist(new Member("member1", 10, teamA));
+		em.persist(new Member("member2", 20, teamB));
+		em.persist(new Member("member3", 30, teamA));
+		em.persist(new Member("member4", 40, teamB));
+		em.persist(new Member("member5", 50, teamA));
+
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName("teamA");
+
+		MemberSlice first = memberRepository.searchSlice(condition, null, 2);
+		assertThat(first.getContent()).extracting("username").containsExactly("member1", "member3");
+		assertThat(first.isHasNext()).isTrue();
+
+		MemberSlice second = memberRepository.searchSlice(condition, first.getNextCursor(), 2);
+		assertThat(second.getContent()).extracting("username").containsExactly("member5");
+		assertThat(second.isHasNext()).isFalse();
+		assertThat(second.getNextCursor()).isNull();
+	}
+	
 }
@@ -0,0 +1,178 @@
+package com.example.querydsl;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.repository.MemberConditionMask;
+import com.example.querydsl.monitoring.QueryExecution;
+import com.example.querydsl.monitoring.QueryExecutionListener;
+import com.example.querydsl.repository.MemberSearchTemplates;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+/*
+ * 조합별 template 결과 == 조건을 직접 상수로 만든 querydsl 결과 (16 가지 조합 모두)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class MemberSearchTemplatesTest {
+
+	@Autowired
+	EntityManager em;
+
+	@Autowired
+	JPAQueryFactory queryFactory;
+
+	@Autowired
+	MemberSearchTemplates searchTemplates;
+
+	@Autowired
+	RecordingListener listener;
+
+	/* 미리 만든 jpql 실행도 QueryExecutionListener(metric / JFR) 에 전달되는지 확인 */
+	@TestConfiguration
+	static class ListenerConfig {
+
+		@Bean
+		RecordingListener recordingListener() {
+			return new RecordingListener();
+		}
+	}
+
+	static class RecordingListener implements QueryExecutionListener {
+
+		final List<String> executed = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void afterQuery(QueryExecution execution) {
+			executed.add(execution.getOperation() + " " + execution.getRows() + " " + execution.getJpql());
+		}
+	}
+
+	@BeforeEach
+	public void before() {
+		Team teamA = new Team("teamA");
+		Team teamB = new Team("teamB");
+		em.persist(teamA);
+		em.persist(teamB);
+		for (int i = 0; i < 10; i++) {
+			em.persist(new Member("member" + i, i * 10, i % 2 == 0 ? teamA : teamB));
+		}
+		/* team 이 없는 member, team 조건이 없을 때만 포함되어야 함 */
+		em.persist(new Member("member4", 40));
+		em.flush();
+		em.clear();
+	}
+
+	static IntStream masks() {
+		return IntStream.range(0, MemberConditionMask.COMBINATIONS);
+	}
+
+	@ParameterizedTest
+	@MethodSource("masks")
+	public void templateMatchesQuerydsl(int mask) {
+		MemberSearchCondition condition = condition(mask);
+		List<Long> expected = querydslIds(condition);
+
+		assertThat(ids(searchTemplates.search(condition))).containsExactlyInAnyOrderElementsOf(expected);
+		assertThat(searchTemplates.count(condition)).isEqualTo(expected.size());
+		assertThat(ids(searchTemplates.page(condition, 1, 2)))
+				.isEqualTo(expected.stream().sorted().skip(1).limit(2).collect(Collectors.toList()));
+	}
+
+	@ParameterizedTest
+	@MethodSource("masks")
+	public void templateExecutionIsInstrumented(int mask) {
+		MemberSearchCondition condition = condition(mask);
+		listener.executed.clear();
+
+		int rows = searchTemplates.search(condition).size();
+		searchTemplates.count(condition);
+
+		assertThat(listener.executed).hasSize(2);
+		assertThat(listener.executed.get(0)).startsWith("fetch " + rows + " select ");
+		assertThat(listener.executed.get(1)).startsWith("fetchOne 1 select count(");
+	}
+
+	@ParameterizedTest
+	@MethodSource("masks")
+	public void emptyStringsAreIgnored(int mask) {
+		MemberSearchCondition condition = condition(mask);
+		if (!MemberConditionMask.has(mask, MemberConditionMask.USERNAME)) {
+			condition.setUserName(" ");
+		}
+		if (!MemberConditionMask.has(mask, MemberConditionMask.TEAM_NAME)) {
+			condition.setTeamName("");
+		}
+
+		assertThat(MemberConditionMask.of(condition)).isEqualTo(mask);
+		assertThat(searchTemplates.count(condition)).isEqualTo(querydslIds(condition(mask)).size());
+	}
+
+	private static MemberSearchCondition condition(int mask) {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		if (MemberConditionMask.has(mask, MemberConditionMask.USERNAME)) {
+			condition.setUserName("member4");
+		}
+		if (MemberConditionMask.has(mask, MemberConditionMask.TEAM_NAME)) {
+			condition.setTeamName("teamA");
+		}
+		if (MemberConditionMask.has(mask, MemberConditionMask.AGE_GOE)) {
+			condition.setAgeGoe(20);
+		}
+		if (MemberConditionMask.has(mask, MemberConditionMask.AGE_LOE)) {
+			condition.setAgeLoe(60);
+		}
+		return condition;
+	}
+
+	/* template 을 거치지 않고 조건을 상수로 직접 만든 querydsl */
+	private List<Long> querydslIds(MemberSearchCondition condition) {
+		BooleanBuilder where = new BooleanBuilder();
+		if (condition.getUserName() != null) {
+			where.and(member.username.eq(condition.getUserName()));
+		}
+		if (condition.getTeamName() != null) {
+			where.and(team.name.eq(condition.getTeamName()));
+		}
+		if (condition.getAgeGoe() != null) {
+			where.and(member.age.goe(condition.getAgeGoe()));
+		}
+		if (condition.getAgeLoe() != null) {
+			where.and(member.age.loe(condition.getAgeLoe()));
+		}
+		return queryFactory.select(member.id).from(member).leftJoin(member.team, team).where(where).fetch();
+	}
+
+	private static List<Long> ids(List<MemberTeamDto> rows) {
+		List<Long> ids = new ArrayList<>();
+		for (MemberTeamDto row : rows) {
+			ids.add(row.getMemberId());
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,191 @@
+package com.example.querydsl;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.querydsl.config.ExecutorMetrics;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.repository.CountMode;
+import com.example.querydsl.repository.MemberCountCache;
+import com.example.querydsl.repository.MemberRepository;
+import com.example.querydsl.repository.PagingStrategy;
+import com.example.querydsl.repository.ParallelQueryExecutor;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+/*
+ * PARALLEL paging (worker thread 의 별도 transaction 에서 조회)
+ * worker 는 test transaction 의 data 를 볼 수 없으므로 직접 commit 후 이 test 가 만든 data 만 정리
+ * connection pool 2 개 => 호출 thread 가 connection 을 잡고 있으면 worker 두 개 중 하나가 connection-timeout
+ */
+@SpringBootTest(properties = { "spring.datasource.hikari.maximum-pool-size=2",
+		"spring.datasource.hikari.connection-timeout=500" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ParallelPagingTest {
+
+	static final String TEAM_NAME = "parallelTeam";
+
+	@Autowired
+	EntityManager em;
+
+	@Autowired
+	JPAQueryFactory queryFactory;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@Autowired
+	MemberCountCache countCache;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@BeforeEach
+	public void before() {
+		transactionTemplate.executeWithoutResult(status -> {
+			Team parallelTeam = new Team(TEAM_NAME);
+			em.persist(parallelTeam);
+			for (int i = 0; i < 10; i++) {
+				em.persist(new Member("parallel" + i, i * 10, parallelTeam));
+			}
+		});
+	}
+
+	@AfterEach
+	public void after() {
+		transactionTemplate.executeWithoutResult(status -> {
+			queryFactory.delete(member)
+					.where(member.team.id.in(queryFactory.select(team.id).from(team).where(team.name.eq(TEAM_NAME))))
+					.execute();
+			queryFactory.delete(team).where(team.name.eq(TEAM_NAME)).execute();
+		});
+	}
+
+	@Test
+	public void callerDoesNotHoldConnection() {
+		Page<MemberTeamDto> page = page(1, PagingStrategy.PARALLEL);
+
+		assertThat(page.getContent()).hasSize(3);
+		assertThat(page.getTotalElements()).isEqualTo(10);
+	}
+
+	/* 첫 page, 꽉 찬 중간 page, 마지막 page, 범위를 넘은 빈 page 모두 SINGLE_QUERY 와 같음 */
+	@Test
+	public void parallelMatchesSingleQuery() {
+		for (int page = 0; page < 5; page++) {
+			countCache.invalidateAll();
+			Page<MemberTeamDto> parallel = page(page, PagingStrategy.PARALLEL);
+			countCache.invalidateAll();
+			Page<MemberTeamDto> single = page(page, PagingStrategy.SINGLE_QUERY);
+			assertThat(parallel.getContent()).isEqualTo(single.getContent());
+			assertThat(parallel.getTotalElements()).isEqualTo(single.getTotalElements()).isEqualTo(10);
+		}
+		/* count cache 에 있으면 count task 없이 같은 결과 */
+		Page<MemberTeamDto> cached = page(1, PagingStrategy.PARALLEL);
+		assertThat(cached.getTotalElements()).isEqualTo(10);
+	}
+
+	@Test
+	public void awaitPastDeadlineThrowsQueryTimeout() {
+		ParallelQueryExecutor executor = new ParallelQueryExecutor(
+				new ExecutorMetrics("timeoutTest").newExecutor("timeout-test-", 1, 1), transactionManager,
+				Duration.ofMillis(100));
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			Future<Boolean> slow = executor.submit(() -> await(release));
+			long deadline = executor.deadline();
+			assertThatThrownBy(() -> executor.await(slow, deadline)).isInstanceOf(QueryTimeoutException.class);
+			assertThat(slow.isCancelled()).isTrue();
+		} finally {
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	/* thread 1, queue 1 => 세 번째 task 는 거절, 포화도 지표에 반영 */
+	@Test
+	public void fullQueueRejectsAndIsReported() {
+		ExecutorMetrics metrics = new ExecutorMetrics("saturationTest");
+		ParallelQueryExecutor executor = new ParallelQueryExecutor(metrics.newExecutor("saturation-test-", 1, 1),
+				transactionManager, Duration.ofSeconds(5));
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			executor.submit(() -> await(release));
+			executor.submit(() -> await(release));
+			assertThatThrownBy(() -> executor.submit(() -> await(release)))
+					.isInstanceOf(RejectedExecutionException.class);
+
+			ExecutorMetrics.Snapshot snapshot = metrics.snapshot();
+			assertThat(snapshot.getRejected()).isEqualTo(1);
+			assertThat(snapshot.getQueued()).isEqualTo(1);
+			assertThat(snapshot.getQueueCapacity()).isEqualTo(1);
+			assertThat(snapshot.getMaxPoolSize()).isEqualTo(1);
+		} finally {
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void executorsAreExposedToAdmin() throws Exception {
+		page(1, PagingStrategy.PARALLEL);
+
+		mockMvc.perform(get("/admin/executors"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[?(@.name == 'memberQuery')].maxPoolSize").value(4))
+				.andExpect(jsonPath("$[?(@.name == 'memberQuery')].completed").isNotEmpty())
+				.andExpect(jsonPath("$[?(@.name == 'memberQuery')].saturation").isNotEmpty());
+	}
+
+	private static boolean await(CountDownLatch release) {
+		try {
+			return release.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private Page<MemberTeamDto> page(int page, PagingStrategy pagingStrategy) {
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName(TEAM_NAME);
+		return memberRepository.searchPageComplex(condition, PageRequest.of(page, 3), CountMode.EXACT,
+				pagingStrategy);
+	}
+}
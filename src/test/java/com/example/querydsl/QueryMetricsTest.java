@@ -0,0 +1,90 @@
+package com.example.querydsl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.monitoring.LatencyHistogram;
+import com.example.querydsl.monitoring.MethodMetrics;
+import com.example.querydsl.monitoring.QueryMetricsRegistry;
+import com.example.querydsl.repository.MemberJpaRepository;
+import com.example.querydsl.repository.MemberRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class QueryMetricsTest {
+
+	@Autowired
+	EntityManager em;
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@Autowired
+	MemberJpaRepository memberJpaRepository;
+
+	@Autowired
+	QueryMetricsRegistry registry;
+
+	@BeforeEach
+	public void before() {
+		Team teamA = new Team("teamA");
+		em.persist(teamA);
+		for (int i = 0; i < 5; i++) {
+			em.persist(new Member("member" + i, i * 10, teamA));
+		}
+		em.flush();
+		em.clear();
+		registry.reset();
+	}
+
+	@Test
+	public void recordsRepositoryMethods() {
+		memberRepository.findByUsername("member1");
+		memberJpaRepository.findAllQuerydsl();
+
+		MethodMetrics.Snapshot findByUsername = snapshot("MemberRepository.findByUsername");
+		assertThat(findByUsername.getCount()).isEqualTo(1);
+		assertThat(findByUsername.getRows()).isEqualTo(1);
+		assertThat(findByUsername.getStatements()).isEqualTo(1);
+
+		MethodMetrics.Snapshot findAll = snapshot("MemberJpaRepository.findAllQuerydsl");
+		assertThat(findAll.getCount()).isEqualTo(1);
+		assertThat(findAll.getRows()).isEqualTo(5);
+
+		/* querydsl 실행은 JPAQueryFactory bean 에서도 집계 */
+		assertThat(snapshot("JPAQueryFactory.fetch").getRows()).isEqualTo(5);
+	}
+
+	@Test
+	public void histogramPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L);
+		}
+
+		assertThat(histogram.count()).isEqualTo(1000);
+		assertThat(histogram.max()).isEqualTo(1_000_000L);
+		/* bucket 상한 기준이라 실제 값보다 최대 25% 크게 나옴 */
+		assertThat(histogram.percentile(0.5)).isBetween(500_000L, 625_000L);
+		assertThat(histogram.percentile(0.99)).isBetween(990_000L, 1_000_000L);
+	}
+
+	private MethodMetrics.Snapshot snapshot(String name) {
+		List<MethodMetrics.Snapshot> snapshots = registry.snapshot();
+		return snapshots.stream().filter(s -> s.getName().equals(name)).findFirst()
+				.orElseThrow(() -> new AssertionError(name + " not recorded"));
+	}
+}
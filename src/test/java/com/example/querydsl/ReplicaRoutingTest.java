@@ -0,0 +1,94 @@
+package com.example.querydsl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.querydsl.config.ReplicaRoutingDataSource;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.repository.MemberRepository;
+import com.example.querydsl.repository.TeamRepository;
+
+/*
+ * primary / replica-0 는 같은 in-memory h2 (복제 지연 0 인 replica 흉내)
+ * replica-1 은 접속 불가 주소 => routing 에서 제외되고 primary 로 fallback 되어야 함
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+		"datasource.replica.targets[0].url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+		"datasource.replica.targets[1].url=jdbc:h2:tcp://localhost:1/~/unreachable",
+		"datasource.replica.connection-timeout=250ms",
+		"datasource.replica.check-interval=PT1H" })
+@ActiveProfiles("replica")
+public class ReplicaRoutingTest {
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@Autowired
+	TeamRepository teamRepository;
+
+	@Autowired
+	ReplicaRoutingDataSource routingDataSource;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	ApplicationContext context;
+
+	@Test
+	public void readOnlyGoesToHealthyReplica() {
+		teamRepository.save(new Team("routingTeam"));
+		ReplicaRoutingDataSource.Stats afterWrite = routingDataSource.stats();
+		assertThat(afterWrite.getPrimaryRouted()).isPositive();
+
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		for (int i = 0; i < 4; i++) {
+			readOnly.executeWithoutResult(status -> memberRepository.search(new MemberSearchCondition()));
+		}
+
+		ReplicaRoutingDataSource.Stats stats = routingDataSource.stats();
+		assertThat(stats.getReplicas().get(0).getRouted()).isGreaterThanOrEqualTo(3);
+		assertThat(stats.getReplicas().get(0).isHealthy()).isTrue();
+		assertThat(stats.getReplicas().get(1).isHealthy()).isFalse();
+		assertThat(stats.getFallbacks()).isEqualTo(1);
+
+		/* 쓰기 transaction 은 항상 primary */
+		long primaryBefore = stats.getPrimaryRouted();
+		teamRepository.save(new Team("routingTeam2"));
+		assertThat(routingDataSource.stats().getPrimaryRouted()).isEqualTo(primaryBefore + 1);
+	}
+
+	/*
+	 * 요청 안에서 읽기 다음 쓰기 (open-in-view 이면 쓰기가 읽기 때의 replica connection 을 재사용)
+	 * transaction 마다 connection 을 새로 routing => 쓰기는 primary, replica 사용량은 읽기만큼만 증가
+	 */
+	@Test
+	public void writeAfterReadGoesToPrimary() {
+		assertThat(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+		ReplicaRoutingDataSource.Stats before = routingDataSource.stats();
+
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		readOnly.executeWithoutResult(status -> memberRepository.search(new MemberSearchCondition()));
+		teamRepository.save(new Team("routingTeam3"));
+
+		/* 읽기가 접속 불가 replica 를 골랐다면 fallback 으로 primary 에 한 번 더 집계됨 */
+		ReplicaRoutingDataSource.Stats after = routingDataSource.stats();
+		long fallbacks = after.getFallbacks() - before.getFallbacks();
+		assertThat(after.getPrimaryRouted() - before.getPrimaryRouted()).isEqualTo(1 + fallbacks);
+		assertThat(after.getReplicas().get(0).getRouted() - before.getReplicas().get(0).getRouted() + fallbacks)
+				.isEqualTo(1);
+		assertThat(teamRepository.findAll()).extracting(Team::getName).contains("routingTeam3");
+	}
+}
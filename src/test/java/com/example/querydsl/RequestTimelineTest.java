@@ -0,0 +1,61 @@
+package com.example.querydsl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.querydsl.monitoring.RequestTimeline;
+import com.example.querydsl.monitoring.RequestTimelineFilter;
+import com.example.querydsl.monitoring.RequestTimelineRecorder;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class RequestTimelineTest {
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	RequestTimelineRecorder recorder;
+
+	@BeforeEach
+	public void before() {
+		recorder.clear();
+	}
+
+	@Test
+	public void searchResponseHasServerTiming() throws Exception {
+		mockMvc.perform(get("/v3/members").param("size", "5"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content").isArray())
+				.andExpect(header().string(RequestTimelineFilter.HEADER, allOf(containsString("db-content;dur="),
+						containsString("db-count;dur="), containsString("db-conn;dur="), containsString("mapping;dur="),
+						containsString("serialize;dur="), containsString("total;dur="))));
+
+		assertThat(recorder.slowest()).hasSize(1);
+		RequestTimeline.Snapshot timeline = recorder.slowest().get(0);
+		assertThat(timeline.getName()).startsWith("GET /v3/members");
+		assertThat(timeline.getContentStatements()).isEqualTo(1);
+		assertThat(timeline.getTotalMillis()).isGreaterThanOrEqualTo(timeline.getSerializeMillis());
+	}
+
+	@Test
+	public void exportIsNotBuffered() throws Exception {
+		mockMvc.perform(get("/v1/members/export"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(RequestTimelineFilter.HEADER));
+
+		assertThat(recorder.slowest()).isEmpty();
+	}
+}
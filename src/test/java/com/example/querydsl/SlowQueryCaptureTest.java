@@ -0,0 +1,61 @@
+package com.example.querydsl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.monitoring.SlowQueryCapture;
+import com.example.querydsl.repository.MemberRepository;
+
+@SpringBootTest(properties = { "monitoring.slow-query.threshold=0ms", "monitoring.slow-query.dedupe-window=0ms" })
+@Transactional
+public class SlowQueryCaptureTest {
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@Autowired
+	SlowQueryCapture slowQueryCapture;
+
+	@Test
+	public void capturesPlanOfRepositoryQuery() throws InterruptedException {
+		slowQueryCapture.clear();
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName("teamB");
+		memberRepository.search(condition);
+
+		SlowQueryCapture.Entry entry = awaitCapture();
+		assertThat(entry).isNotNull();
+		assertThat(entry.getRepositoryMethod()).isEqualTo("MemberRepository.search");
+		assertThat(entry.getSqlWithValues()).contains("'teamB'");
+		assertThat(entry.getPlan()).isNotEmpty().doesNotStartWith("explain failed");
+	}
+
+	/* 값을 sql 문자열에 끼워 넣지 않고 다시 bind => quote 가 들어간 값도 그대로 explain */
+	@Test
+	public void explainRebindsParameters() throws InterruptedException {
+		slowQueryCapture.clear();
+		MemberSearchCondition condition = new MemberSearchCondition();
+		condition.setTeamName("o'brien");
+		memberRepository.search(condition);
+
+		SlowQueryCapture.Entry entry = awaitCapture();
+		assertThat(entry).isNotNull();
+		assertThat(entry.getSql()).contains("?").doesNotContain("o'brien");
+		assertThat(entry.getPlan()).isNotEmpty().doesNotStartWith("explain failed");
+	}
+
+	private SlowQueryCapture.Entry awaitCapture() throws InterruptedException {
+		for (int i = 0; i < 50; i++) {
+			if (!slowQueryCapture.snapshot().getCaptured().isEmpty()) {
+				return slowQueryCapture.snapshot().getCaptured().get(0);
+			}
+			Thread.sleep(100);
+		}
+		return null;
+	}
+}
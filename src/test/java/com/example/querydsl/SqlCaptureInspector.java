@@ -0,0 +1,30 @@
+package com.example.querydsl;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/* hibernate 가 실행하는 sql 을 그대로 기록 (spring.jpa.properties.hibernate.session_factory.statement_inspector 로 등록) */
+public class SqlCaptureInspector implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+	@Override
+	public String inspect(String sql) {
+		statements.add(sql);
+		return sql;
+	}
+
+	public static void clear() {
+		statements.clear();
+	}
+
+	public static List<String> startingWith(String prefix) {
+		return statements.stream().filter(sql -> sql.trim().toLowerCase().startsWith(prefix))
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,127 @@
+package com.example.querydsl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import com.example.querydsl.monitoring.SqlLogListener;
+import com.example.querydsl.monitoring.SqlLogMode;
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.PreparedStatementInformation;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+/*
+ * writer thread 없이(afterPropertiesSet 미호출) queue 에 쌓이는 것만 확인
+ * 로그 내용은 writer thread 를 시작해 queue 를 비운 뒤 확인
+ */
+public class SqlLogListenerTest {
+
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+	private final Logger sqlLog = (Logger) LoggerFactory.getLogger("sql");
+	private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+	private Level previousLevel;
+
+	@BeforeEach
+	public void before() {
+		previousLevel = sqlLog.getLevel();
+		sqlLog.setLevel(Level.INFO);
+		appender.start();
+		sqlLog.addAppender(appender);
+	}
+
+	@AfterEach
+	public void after() {
+		sqlLog.detachAppender(appender);
+		sqlLog.setLevel(previousLevel);
+	}
+
+	@Test
+	public void sampledModeKeepsSlowAndFailedStatements() {
+		SqlLogListener listener = listener(SqlLogMode.SAMPLED, 16);
+
+		for (int i = 0; i < 10; i++) {
+			listener.onAfterAnyExecute(statement("select 1"), FAST, null);
+		}
+		listener.onAfterAnyExecute(statement("select 2"), SLOW, null);
+		listener.onAfterAnyExecute(statement("select 3"), FAST, new SQLException("boom"));
+
+		assertThat(listener.getQueued()).isEqualTo(2);
+		assertThat(listener.getDropped()).isZero();
+	}
+
+	@Test
+	public void slowModeIgnoresFastStatements() {
+		SqlLogListener listener = listener(SqlLogMode.SLOW, 16);
+
+		listener.onAfterAnyExecute(statement("select 1"), FAST, null);
+		listener.onAfterAnyExecute(statement("select 2"), SLOW, null);
+
+		assertThat(listener.getQueued()).isEqualTo(1);
+	}
+
+	@Test
+	public void fullQueueDropsWithoutBlocking() {
+		SqlLogListener listener = listener(SqlLogMode.ALL, 2);
+
+		for (int i = 0; i < 5; i++) {
+			listener.onAfterAnyExecute(statement("select " + i), FAST, null);
+		}
+
+		assertThat(listener.getQueued()).isEqualTo(2);
+		assertThat(listener.getDropped()).isEqualTo(3);
+	}
+
+	/* 요청 thread 는 getSqlWithValues 를 호출하지 않고, writer thread 가 bind 값을 치환 */
+	@Test
+	public void valuesAreRenderedOnWriterThread() throws InterruptedException {
+		SqlLogListener listener = listener(SqlLogMode.ALL, 16);
+		PreparedStatementInformation statement = statement(
+				"select m.username from member m where m.username = ? and m.age >= ? and m.username <> '?'");
+
+		listener.onAfterPreparedStatementSet(statement, 1, "kim", null);
+		listener.onAfterPreparedStatementSet(statement, 2, 20, null);
+		listener.onAfterAnyExecute(statement, FAST, null);
+		listener.afterPropertiesSet();
+		listener.destroy();
+
+		verify(statement, never()).getSqlWithValues();
+		List<String> messages = appender.list.stream().map(ILoggingEvent::getFormattedMessage)
+				.collect(Collectors.toList());
+		assertThat(messages).hasSize(1);
+		assertThat(messages.get(0)).startsWith("[sampled]")
+				.endsWith("where m.username = 'kim' and m.age >= 20 and m.username <> '?'");
+		assertThat(listener.getQueued()).isZero();
+	}
+
+	private static SqlLogListener listener(SqlLogMode mode, int queueCapacity) {
+		return new SqlLogListener(mode, Integer.MAX_VALUE, Duration.ofMillis(100), false, queueCapacity);
+	}
+
+	private static PreparedStatementInformation statement(String sql) {
+		ConnectionInformation connection = mock(ConnectionInformation.class);
+		when(connection.getConnectionId()).thenReturn(1);
+		PreparedStatementInformation statement = mock(PreparedStatementInformation.class);
+		when(statement.getSql()).thenReturn(sql);
+		when(statement.getConnectionInformation()).thenReturn(connection);
+		return statement;
+	}
+}
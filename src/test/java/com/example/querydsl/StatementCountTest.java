@@ -0,0 +1,83 @@
+package com.example.querydsl;
+
+import static com.example.querydsl.StatementCounts.assertNoRepeatedStatements;
+import static com.example.querydsl.StatementCounts.assertStatementCount;
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.monitoring.StatementScope;
+import com.example.querydsl.repository.MemberJpaRepository;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class StatementCountTest {
+
+	@Autowired
+	EntityManager em;
+
+	@Autowired
+	JPAQueryFactory queryFactory;
+
+	@Autowired
+	MemberJpaRepository memberJpaRepository;
+
+	@BeforeEach
+	public void before() {
+		Team teamA = new Team("teamA");
+		Team teamB = new Team("teamB");
+		Team teamC = new Team("teamC");
+		em.persist(teamA);
+		em.persist(teamB);
+		em.persist(teamC);
+		em.persist(new Member("member1", 10, teamA));
+		em.persist(new Member("member2", 20, teamB));
+		em.persist(new Member("member3", 30, teamC));
+		em.flush();
+		em.clear();
+		StatementCounts.start();
+	}
+
+	@AfterEach
+	public void after() {
+		StatementCounts.stop();
+	}
+
+	/* fetchJoinNo 와 같은 lazy 로딩 => member 1번 + team row 마다 1번 */
+	@Test
+	public void lazyTeamIsNPlusOne() {
+		List<Member> members = memberJpaRepository.findAllQuerydsl();
+		members.forEach(m -> m.getTeam().getName());
+
+		assertStatementCount(1 + 3);
+		List<StatementScope.Statement> repeated = StatementCounts.repeated(3);
+		assertThat(repeated).hasSize(1);
+		assertThat(repeated.get(0).getSql()).contains("from team");
+		assertThat(repeated.get(0).getCallSite()).contains(StatementCountTest.class.getName());
+	}
+
+	@Test
+	public void fetchJoinIsSingleStatement() {
+		List<Member> members = queryFactory.selectFrom(member).join(member.team, team).fetchJoin().fetch();
+		members.forEach(m -> m.getTeam().getName());
+
+		assertStatementCount(1);
+		assertNoRepeatedStatements();
+	}
+}
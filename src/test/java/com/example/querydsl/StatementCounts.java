@@ -0,0 +1,53 @@
+package com.example.querydsl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import com.example.querydsl.monitoring.StatementScope;
+
+/*
+ * 테스트용 statement 수 검증
+ * start() 이후 실행된 jdbc statement 를 집계 (p6spy StatementCountListener 경유)
+ */
+public final class StatementCounts {
+
+	private static final ThreadLocal<StatementScope> SCOPE = new ThreadLocal<>();
+
+	private StatementCounts() {
+	}
+
+	public static void start() {
+		stop();
+		SCOPE.set(StatementScope.open("test"));
+	}
+
+	public static void stop() {
+		StatementScope scope = SCOPE.get();
+		if (scope != null) {
+			scope.close();
+			SCOPE.remove();
+		}
+	}
+
+	public static void assertStatementCount(long expected) {
+		assertThat(scope().getCount()).as("jdbc statement count").isEqualTo(expected);
+	}
+
+	public static void assertNoRepeatedStatements() {
+		List<StatementScope.Statement> repeated = scope().repeated(2);
+		assertThat(repeated).as("repeated statements (N+1)").isEmpty();
+	}
+
+	public static List<StatementScope.Statement> repeated(int threshold) {
+		return scope().repeated(threshold);
+	}
+
+	private static StatementScope scope() {
+		StatementScope scope = SCOPE.get();
+		if (scope == null) {
+			throw new IllegalStateException("StatementCounts.start() not called");
+		}
+		return scope;
+	}
+}
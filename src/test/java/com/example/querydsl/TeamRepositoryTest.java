@@ -0,0 +1,76 @@
+package com.example.querydsl;
+
+import static com.example.querydsl.StatementCounts.assertStatementCount;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.querydsl.dto.TeamMembersDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.repository.TeamRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class TeamRepositoryTest {
+
+	@Autowired
+	EntityManager em;
+
+	@Autowired
+	TeamRepository teamRepository;
+
+	@BeforeEach
+	public void before() {
+		for (int t = 0; t < 5; t++) {
+			Team team = new Team("team" + t);
+			em.persist(team);
+			for (int m = 0; m < 3; m++) {
+				em.persist(new Member("member" + t + "_" + m, t * 10 + m, team));
+			}
+		}
+		em.persist(new Team("emptyTeam"));
+		em.flush();
+		em.clear();
+		StatementCounts.start();
+	}
+
+	@AfterEach
+	public void after() {
+		StatementCounts.stop();
+	}
+
+	@Test
+	public void teamsWithMembersInBoundedQueries() {
+		Page<TeamMembersDto> page = teamRepository.findTeamsWithMembers(PageRequest.of(0, 4));
+
+		assertThat(page.getTotalElements()).isEqualTo(6);
+		assertThat(page.getContent()).extracting("teamName").containsExactly("team0", "team1", "team2", "team3");
+		assertThat(page.getContent()).allSatisfy(team -> assertThat(team.getMembers()).hasSize(3));
+		assertThat(page.getContent().get(1).getMembers()).extracting("username")
+				.containsExactly("member1_0", "member1_1", "member1_2");
+		/* team page + member in 절 + count */
+		assertStatementCount(3);
+	}
+
+	@Test
+	public void lastPageIncludesTeamWithoutMembers() {
+		Page<TeamMembersDto> page = teamRepository.findTeamsWithMembers(PageRequest.of(1, 4));
+
+		assertThat(page.getContent()).extracting("teamName").containsExactly("team4", "emptyTeam");
+		assertThat(page.getContent().get(1).getMembers()).isEmpty();
+		/* 마지막 page 라 count 생략 */
+		assertStatementCount(2);
+	}
+}
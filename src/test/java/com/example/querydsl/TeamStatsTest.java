@@ -0,0 +1,183 @@
+package com.example.querydsl;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+import static com.example.querydsl.entity.QTeamStats.teamStats;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.querydsl.dto.TeamStatsDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.repository.TeamStatsReconciler;
+import com.example.querydsl.repository.TeamStatsRepository;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+/* commit 시점에 반영되므로 @Transactional rollback 대신 직접 commit 후 이 test 가 만든 data 만 정리 */
+@SpringBootTest
+public class TeamStatsTest {
+
+	@Autowired
+	EntityManager em;
+
+	@Autowired
+	JPAQueryFactory queryFactory;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	@Autowired
+	TeamStatsRepository teamStatsRepository;
+
+	@Autowired
+	TeamStatsReconciler teamStatsReconciler;
+
+	Long teamAId;
+	Long teamBId;
+	Long oldestId;
+	Long youngestId;
+
+	@BeforeEach
+	public void before() {
+		transactionTemplate.executeWithoutResult(status -> {
+			Team teamA = new Team("teamA");
+			Team teamB = new Team("teamB");
+			em.persist(teamA);
+			em.persist(teamB);
+			Member youngest = new Member("member1", 10, teamA);
+			Member oldest = new Member("member3", 40, teamA);
+			em.persist(youngest);
+			em.persist(new Member("member2", 25, teamA));
+			em.persist(oldest);
+			em.persist(new Member("member4", 15, teamB));
+			teamAId = teamA.getId();
+			teamBId = teamB.getId();
+			oldestId = oldest.getId();
+			youngestId = youngest.getId();
+		});
+	}
+
+	/* 이 test 가 만든 team / member 만 정리 (다른 data 는 건드리지 않음) */
+	@AfterEach
+	public void after() {
+		List<Long> teamIds = teamIds();
+		transactionTemplate.executeWithoutResult(status -> {
+			queryFactory.delete(teamStats).where(teamStats.teamId.in(teamIds)).execute();
+			queryFactory.delete(member).where(member.team.id.in(teamIds)).execute();
+			queryFactory.delete(team).where(team.id.in(teamIds)).execute();
+		});
+	}
+
+	@Test
+	public void statsFollowInsertUpdateDelete() {
+		TeamStatsDto teamA = stats(teamAId);
+		assertThat(teamA.getMemberCount()).isEqualTo(3);
+		assertThat(teamA.getAgeSum()).isEqualTo(75);
+		assertThat(teamA.getAgeAvg()).isEqualTo(25.0);
+		assertThat(teamA.getMinAge()).isEqualTo(10);
+		assertThat(teamA.getMaxAge()).isEqualTo(40);
+		assertThat(teamA.getAge0To20()).isEqualTo(1);
+		assertThat(teamA.getAge21To30()).isEqualTo(1);
+		assertThat(teamA.getAgeOther()).isEqualTo(1);
+
+		/* changeTeam + age 변경 */
+		transactionTemplate.executeWithoutResult(status -> {
+			Member oldest = em.find(Member.class, oldestId);
+			oldest.changeTeam(em.find(Team.class, teamBId));
+			oldest.setAge(41);
+		});
+		teamA = stats(teamAId);
+		TeamStatsDto teamB = stats(teamBId);
+		assertThat(teamA.getMemberCount()).isEqualTo(2);
+		assertThat(teamA.getAgeSum()).isEqualTo(35);
+		assertThat(teamA.getMaxAge()).isEqualTo(25);
+		assertThat(teamA.getAgeOther()).isZero();
+		assertThat(teamB.getMemberCount()).isEqualTo(2);
+		assertThat(teamB.getAgeSum()).isEqualTo(56);
+		assertThat(teamB.getMinAge()).isEqualTo(15);
+		assertThat(teamB.getMaxAge()).isEqualTo(41);
+
+		transactionTemplate.executeWithoutResult(status -> em.remove(em.find(Member.class, youngestId)));
+		teamA = stats(teamAId);
+		assertThat(teamA.getMemberCount()).isEqualTo(1);
+		assertThat(teamA.getMinAge()).isEqualTo(25);
+		assertThat(teamA.getAge0To20()).isZero();
+
+		assertThat(teamStatsReconciler.reconcile(teamIds())).isZero();
+	}
+
+	@Test
+	public void rollbackDiscardsDelta() {
+		transactionTemplate.executeWithoutResult(status -> {
+			em.persist(new Member("member5", 50, em.find(Team.class, teamAId)));
+			em.flush();
+			status.setRollbackOnly();
+		});
+
+		assertThat(stats(teamAId).getMemberCount()).isEqualTo(3);
+	}
+
+	/* 요약 row 가 없는 기존 team : 별도 transaction 에서 row 를 만든 뒤 변경량을 더함 */
+	@Test
+	public void missingStatsRowIsCreatedThenUpdated() {
+		transactionTemplate.executeWithoutResult(
+				status -> queryFactory.delete(teamStats).where(teamStats.teamId.eq(teamAId)).execute());
+
+		transactionTemplate.executeWithoutResult(
+				status -> em.persist(new Member("member5", 50, em.find(Team.class, teamAId))));
+
+		TeamStatsDto teamA = stats(teamAId);
+		assertThat(teamA.getMemberCount()).isEqualTo(4);
+		assertThat(teamA.getAgeSum()).isEqualTo(125);
+		assertThat(teamA.getMaxAge()).isEqualTo(50);
+		assertThat(teamStatsReconciler.reconcile(teamIds())).isZero();
+	}
+
+	@Test
+	public void removedTeamDropsStatsRow() {
+		transactionTemplate.executeWithoutResult(status -> {
+			Team teamB = em.find(Team.class, teamBId);
+			queryFactory.selectFrom(member).where(member.team.id.eq(teamBId)).fetch().forEach(em::remove);
+			em.remove(teamB);
+		});
+
+		assertThat(teamStatsRepository.findAll()).noneMatch(s -> s.getTeamId().equals(teamBId));
+		assertThat(stats(teamAId).getMemberCount()).isEqualTo(3);
+	}
+
+	/* bulk update 는 listener 를 거치지 않음 => reconcile 로 보정 */
+	@Test
+	public void reconcileFixesBulkUpdate() {
+		transactionTemplate.executeWithoutResult(status -> queryFactory.update(member)
+				.set(member.age, member.age.add(10)).where(member.team.id.in(teamIds())).execute());
+		assertThat(stats(teamAId).getAgeSum()).isEqualTo(75);
+
+		assertThat(teamStatsReconciler.reconcile(teamIds())).isEqualTo(2);
+
+		TeamStatsDto teamA = stats(teamAId);
+		assertThat(teamA.getAgeSum()).isEqualTo(105);
+		assertThat(teamA.getMinAge()).isEqualTo(20);
+		assertThat(teamA.getAge0To20()).isEqualTo(1);
+		assertThat(stats(teamBId).getAgeSum()).isEqualTo(25);
+	}
+
+	private List<Long> teamIds() {
+		return Arrays.asList(teamAId, teamBId);
+	}
+
+	private TeamStatsDto stats(Long teamId) {
+		return teamStatsRepository.findAll().stream().filter(s -> s.getTeamId().equals(teamId)).findFirst()
+				.orElseThrow(() -> new AssertionError("no stats for team " + teamId));
+	}
+}